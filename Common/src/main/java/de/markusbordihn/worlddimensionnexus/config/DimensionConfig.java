@@ -21,6 +21,7 @@ package de.markusbordihn.worlddimensionnexus.config;
 
 import java.io.File;
 import java.util.Properties;
+import java.util.Set;
 
 @SuppressWarnings({"java:S1104", "java:S1444", "java:S3008"})
 public class DimensionConfig extends Config {
@@ -60,6 +61,21 @@ This file contains the configuration for dimensions, including default settings
   public static boolean EXAMPLE_DIMENSIONS_ON_FIRST_RUN = true;
   public static boolean DEFAULT_DIMENSION_AUTO_LOAD = true;
 
+  // Idle unloading (delay in seconds without players, respawn points or forced chunks)
+  public static boolean IDLE_DIMENSION_UNLOAD = false;
+  public static int IDLE_DIMENSION_UNLOAD_DELAY = 300;
+
+  // Pre-generated dimension pool (pre-generation radius in chunks, tick budget in milliseconds)
+  public static int DIMENSION_POOL_SIZE = 0;
+  public static Set<String> DIMENSION_POOL_TYPES = Set.of("void", "skyblock");
+  public static int DIMENSION_POOL_PREGEN_RADIUS = 2;
+  public static int DIMENSION_POOL_TICK_BUDGET = 5;
+
+  // Chunk pregeneration (radius in chunks, target tick time in milliseconds)
+  public static int DIMENSION_PREGEN_MAX_RADIUS = 256;
+  public static int DIMENSION_PREGEN_TARGET_MSPT = 40;
+  public static int DIMENSION_PREGEN_MAX_CONCURRENT_CHUNKS = 16;
+
   public static void registerConfig() {
     registerConfigFile(CONFIG_FILE_NAME, CONFIG_FILE_HEADER);
     parseConfigFile();
@@ -125,6 +141,33 @@ This file contains the configuration for dimensions, including default settings
         parseConfigValue(
             properties, "Dimension:DefaultDimensionAutoLoad", DEFAULT_DIMENSION_AUTO_LOAD);
 
+    // Idle unloading
+    IDLE_DIMENSION_UNLOAD =
+        parseConfigValue(properties, "Dimension:IdleDimensionUnload", IDLE_DIMENSION_UNLOAD);
+    IDLE_DIMENSION_UNLOAD_DELAY =
+        parseConfigValue(
+            properties, "Dimension:IdleDimensionUnloadDelay", IDLE_DIMENSION_UNLOAD_DELAY);
+
+    // Pre-generated dimension pool
+    DIMENSION_POOL_SIZE = parseConfigValue(properties, "DimensionPool:Size", DIMENSION_POOL_SIZE);
+    DIMENSION_POOL_TYPES =
+        parseConfigValue(properties, "DimensionPool:Types", DIMENSION_POOL_TYPES);
+    DIMENSION_POOL_PREGEN_RADIUS =
+        parseConfigValue(properties, "DimensionPool:PregenRadius", DIMENSION_POOL_PREGEN_RADIUS);
+    DIMENSION_POOL_TICK_BUDGET =
+        parseConfigValue(properties, "DimensionPool:TickBudget", DIMENSION_POOL_TICK_BUDGET);
+
+    // Chunk pregeneration
+    DIMENSION_PREGEN_MAX_RADIUS =
+        parseConfigValue(properties, "DimensionPregen:MaxRadius", DIMENSION_PREGEN_MAX_RADIUS);
+    DIMENSION_PREGEN_TARGET_MSPT =
+        parseConfigValue(properties, "DimensionPregen:TargetMspt", DIMENSION_PREGEN_TARGET_MSPT);
+    DIMENSION_PREGEN_MAX_CONCURRENT_CHUNKS =
+        parseConfigValue(
+            properties,
+            "DimensionPregen:MaxConcurrentChunks",
+            DIMENSION_PREGEN_MAX_CONCURRENT_CHUNKS);
+
     // Update config file if needed
     updateConfigFileIfChanged(configFile, CONFIG_FILE_HEADER, properties, unmodifiedProperties);
   }
@@ -49,6 +49,9 @@ public class FloatingIslandsChunkGeneratorConfig extends Config {
       Performance Settings:
       - Higher detail levels provide more realistic islands but use more resources
       - Lower spacing values create more islands but may impact performance
+      - Noise grid size 1 samples the noise for every column, 2, 4, 8 or 16 sample it on a grid
+        and interpolate between, which is faster but changes the terrain of existing worlds
+      - Column cache size is the number of chunks kept for height and column queries
       """;
 
   // Island generation settings
@@ -79,6 +82,8 @@ public class FloatingIslandsChunkGeneratorConfig extends Config {
   // Performance settings
   public static boolean ENABLE_HEIGHT_CACHING = true;
   public static boolean ENABLE_DETAILED_GENERATION = true;
+  public static int NOISE_GRID_SIZE = 1;
+  public static int COLUMN_CACHE_SIZE = 256;
 
   private FloatingIslandsChunkGeneratorConfig() {}
 
@@ -136,6 +141,9 @@ public class FloatingIslandsChunkGeneratorConfig extends Config {
     ENABLE_DETAILED_GENERATION =
         parseConfigValue(
             properties, "Performance:EnableDetailedGeneration", ENABLE_DETAILED_GENERATION);
+    NOISE_GRID_SIZE = parseConfigValue(properties, "Performance:NoiseGridSize", NOISE_GRID_SIZE);
+    COLUMN_CACHE_SIZE =
+        parseConfigValue(properties, "Performance:ColumnCacheSize", COLUMN_CACHE_SIZE);
 
     updateConfigFileIfChanged(configFile, CONFIG_HEADER, properties, unmodifiedProperties);
 
@@ -36,6 +36,17 @@ This file contains the configuration for teleport commands, including cooldowns
   public static int BACK_TELEPORT_COOLDOWN = 30;
   public static boolean MODERATORS_BYPASS_COOLDOWN = true;
 
+  // Auto-teleport login handling (in ticks, 20 ticks = 1 second)
+  public static int AUTO_TELEPORT_LOGIN_DELAY = 100;
+  public static int AUTO_TELEPORT_LOGIN_CHECKS_PER_TICK = 10;
+  public static int AUTO_TELEPORT_LOGIN_TELEPORTS_PER_TICK = 2;
+  public static int AUTO_TELEPORT_COMPACTION_INTERVAL = 20 * 60 * 30; // 30 minutes
+
+  // Teleport audit log (segment size in MB)
+  public static boolean TELEPORT_AUDIT_LOG_ENABLED = true;
+  public static int TELEPORT_AUDIT_LOG_SEGMENT_SIZE = 16;
+  public static int TELEPORT_AUDIT_LOG_MAX_SEGMENTS = 8;
+
   public static void registerConfig() {
     registerConfigFile(CONFIG_FILE_NAME, CONFIG_FILE_HEADER);
     parseConfigFile();
@@ -53,6 +64,27 @@ This file contains the configuration for teleport commands, including cooldowns
         parseConfigValue(
             properties, "Teleport:ModeratorsBypassCooldown", MODERATORS_BYPASS_COOLDOWN);
 
+    AUTO_TELEPORT_LOGIN_DELAY =
+        parseConfigValue(properties, "AutoTeleport:LoginDelay", AUTO_TELEPORT_LOGIN_DELAY);
+    AUTO_TELEPORT_LOGIN_CHECKS_PER_TICK =
+        parseConfigValue(
+            properties, "AutoTeleport:LoginChecksPerTick", AUTO_TELEPORT_LOGIN_CHECKS_PER_TICK);
+    AUTO_TELEPORT_LOGIN_TELEPORTS_PER_TICK =
+        parseConfigValue(
+            properties,
+            "AutoTeleport:LoginTeleportsPerTick",
+            AUTO_TELEPORT_LOGIN_TELEPORTS_PER_TICK);
+    AUTO_TELEPORT_COMPACTION_INTERVAL =
+        parseConfigValue(
+            properties, "AutoTeleport:CompactionInterval", AUTO_TELEPORT_COMPACTION_INTERVAL);
+
+    TELEPORT_AUDIT_LOG_ENABLED =
+        parseConfigValue(properties, "AuditLog:Enabled", TELEPORT_AUDIT_LOG_ENABLED);
+    TELEPORT_AUDIT_LOG_SEGMENT_SIZE =
+        parseConfigValue(properties, "AuditLog:SegmentSize", TELEPORT_AUDIT_LOG_SEGMENT_SIZE);
+    TELEPORT_AUDIT_LOG_MAX_SEGMENTS =
+        parseConfigValue(properties, "AuditLog:MaxSegments", TELEPORT_AUDIT_LOG_MAX_SEGMENTS);
+
     updateConfigFileIfChanged(configFile, CONFIG_FILE_HEADER, properties, unmodifiedProperties);
   }
 
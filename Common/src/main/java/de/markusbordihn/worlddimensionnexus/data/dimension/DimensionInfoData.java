@@ -305,6 +305,23 @@ public record DimensionInfoData(
         gameType);
   }
 
+  public DimensionInfoData withDimensionName(final String dimensionName) {
+    ResourceLocation dimensionLocation =
+        dimensionName.contains(":")
+            ? ResourceLocation.parse(dimensionName)
+            : ResourceLocation.fromNamespaceAndPath(Constants.MOD_ID, dimensionName);
+    return new DimensionInfoData(
+        ResourceKey.create(Registries.DIMENSION, dimensionLocation),
+        dimensionTypeKey,
+        dimensionName,
+        description,
+        isCustom,
+        chunkGeneratorType,
+        DEFAULT_HOT_INJECTION_SYNC,
+        spawnPoint,
+        gameType);
+  }
+
   public DimensionInfoData withSpawnPoint(final BlockPos newSpawnPoint) {
     return new DimensionInfoData(
         dimensionKey,
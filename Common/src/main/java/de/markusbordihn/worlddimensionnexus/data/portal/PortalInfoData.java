@@ -19,6 +19,7 @@
 
 package de.markusbordihn.worlddimensionnexus.data.portal;
 
+import com.mojang.datafixers.util.Either;
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.DataResult;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
@@ -27,6 +28,7 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.LongStream;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.UUIDUtil;
 import net.minecraft.core.registries.BuiltInRegistries;
@@ -63,9 +65,33 @@ public record PortalInfoData(
   public static final Codec<ResourceKey<Level>> LEVEL_KEY_CODEC =
       net.minecraft.resources.ResourceKey.codec(Registries.DIMENSION);
 
-  public static final Codec<Set<BlockPos>> BLOCK_POS_SET_CODEC =
+  public static final Codec<Set<BlockPos>> LEGACY_BLOCK_POS_SET_CODEC =
       BLOCK_POS_CODEC.listOf().xmap(HashSet::new, ArrayList::new);
 
+  // Packs each block set into a single long array, while still reading the old list format.
+  public static final Codec<Set<BlockPos>> PACKED_BLOCK_POS_SET_CODEC =
+      Codec.LONG_STREAM.xmap(
+          stream -> {
+            long[] packedPositions = stream.toArray();
+            Set<BlockPos> positions = HashSet.newHashSet(packedPositions.length);
+            for (long packedPosition : packedPositions) {
+              positions.add(BlockPos.of(packedPosition));
+            }
+            return positions;
+          },
+          positions -> {
+            long[] packedPositions = new long[positions.size()];
+            int index = 0;
+            for (BlockPos position : positions) {
+              packedPositions[index++] = position.asLong();
+            }
+            return LongStream.of(packedPositions);
+          });
+
+  public static final Codec<Set<BlockPos>> BLOCK_POS_SET_CODEC =
+      Codec.either(PACKED_BLOCK_POS_SET_CODEC, LEGACY_BLOCK_POS_SET_CODEC)
+          .xmap(either -> either.map(positions -> positions, positions -> positions), Either::left);
+
   public static final Codec<PortalInfoData> CODEC =
       RecordCodecBuilder.create(
           instance ->
@@ -34,6 +34,8 @@ public enum AutoTeleportTrigger implements StringRepresentable {
   public static final Codec<AutoTeleportTrigger> CODEC =
       StringRepresentable.fromEnum(AutoTeleportTrigger::values);
 
+  private static final long ONE_DAY_MILLIS = 24 * 60 * 60 * 1000L;
+
   private final String name;
 
   AutoTeleportTrigger(final String name) {
@@ -44,4 +46,13 @@ public enum AutoTeleportTrigger implements StringRepresentable {
   public String getSerializedName() {
     return this.name;
   }
+
+  public long getExecutionWindowMillis() {
+    return switch (this) {
+      case ONCE_PER_DAY -> ONE_DAY_MILLIS;
+      case ONCE_PER_WEEK -> 7 * ONE_DAY_MILLIS;
+      case ONCE_PER_MONTH -> 30 * ONE_DAY_MILLIS;
+      case ONCE_AFTER_SERVER_RESTART, ONCE_PER_SERVER_JOIN, ON_DEATH, ALWAYS -> 0L;
+    };
+  }
 }
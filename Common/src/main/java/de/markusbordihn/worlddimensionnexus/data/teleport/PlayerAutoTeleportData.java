@@ -23,6 +23,7 @@ import com.mojang.serialization.Codec;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import net.minecraft.core.UUIDUtil;
 
@@ -79,4 +80,42 @@ public record PlayerAutoTeleportData(
   public long getLastExecution(final AutoTeleportTrigger trigger) {
     return lastExecutions.getOrDefault(trigger, 0L);
   }
+
+  public PlayerAutoTeleportData withoutExpiredExecutions(
+      final Set<AutoTeleportTrigger> activeTriggers, final long currentTime) {
+    Map<AutoTeleportTrigger, Long> newExecutions = new HashMap<>(lastExecutions);
+    newExecutions
+        .entrySet()
+        .removeIf(
+            execution -> isExpiredExecution(execution.getKey(), activeTriggers, currentTime));
+    if (newExecutions.size() == lastExecutions.size()) {
+      return this;
+    }
+    return new PlayerAutoTeleportData(playerId, autoTeleports, newExecutions);
+  }
+
+  private boolean isExpiredExecution(
+      final AutoTeleportTrigger trigger,
+      final Set<AutoTeleportTrigger> activeTriggers,
+      final long currentTime) {
+    if (!activeTriggers.contains(trigger)) {
+      return true;
+    }
+    long executionWindow = trigger.getExecutionWindowMillis();
+    return executionWindow > 0 && !wasExecutedWithin(trigger, executionWindow, currentTime);
+  }
+
+  public boolean isEmpty() {
+    return autoTeleports.isEmpty() && lastExecutions.isEmpty();
+  }
+
+  public boolean hasTeleport(final AutoTeleportTrigger trigger) {
+    return autoTeleports.containsKey(trigger);
+  }
+
+  public boolean wasExecutedWithin(
+      final AutoTeleportTrigger trigger, final long timeFrameMillis, final long currentTime) {
+    long lastExecution = getLastExecution(trigger);
+    return lastExecution != 0L && (currentTime - lastExecution) < timeFrameMillis;
+  }
 }
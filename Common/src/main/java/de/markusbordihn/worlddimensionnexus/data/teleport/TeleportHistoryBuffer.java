@@ -0,0 +1,192 @@
+/*
+ * Copyright 2025 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.worlddimensionnexus.data.teleport;
+
+import java.util.ArrayList;
+import java.util.List;
+import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.NbtOps;
+import net.minecraft.nbt.Tag;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.level.GameType;
+import net.minecraft.world.level.Level;
+
+public final class TeleportHistoryBuffer {
+
+  private final int capacity;
+  private final ResourceKey<Level>[] dimensions;
+  private final long[] positions;
+  private final float[] yRots;
+  private final float[] xRots;
+  private final long[] timestamps;
+  private final GameType[] gameTypes;
+  private final CompoundTag[] encodedEntries;
+  private int head = -1;
+  private int size = 0;
+
+  @SuppressWarnings("unchecked")
+  public TeleportHistoryBuffer(final int capacity) {
+    this.capacity = capacity;
+    this.dimensions = (ResourceKey<Level>[]) new ResourceKey[capacity];
+    this.positions = new long[capacity];
+    this.yRots = new float[capacity];
+    this.xRots = new float[capacity];
+    this.timestamps = new long[capacity];
+    this.gameTypes = new GameType[capacity];
+    this.encodedEntries = new CompoundTag[capacity];
+  }
+
+  public static TeleportHistoryBuffer fromListTag(final ListTag listTag, final int capacity) {
+    TeleportHistoryBuffer buffer = new TeleportHistoryBuffer(capacity);
+
+    // Stored entries are ordered newest first, so they are pushed in reverse order.
+    for (int i = Math.min(listTag.size(), capacity) - 1; i >= 0; i--) {
+      CompoundTag locationTag = listTag.getCompound(i);
+      TeleportLocation.CODEC
+          .parse(NbtOps.INSTANCE, locationTag)
+          .result()
+          .ifPresent(
+              location -> {
+                buffer.push(location);
+                buffer.encodedEntries[buffer.head] = locationTag;
+              });
+    }
+    return buffer;
+  }
+
+  public synchronized void push(
+      final ResourceKey<Level> dimension,
+      final BlockPos position,
+      final float yRot,
+      final float xRot,
+      final long timestamp,
+      final GameType gameType) {
+    head = (head + 1) % capacity;
+    dimensions[head] = dimension;
+    positions[head] = position.asLong();
+    yRots[head] = yRot;
+    xRots[head] = xRot;
+    timestamps[head] = timestamp;
+    gameTypes[head] = gameType;
+    encodedEntries[head] = null;
+    if (size < capacity) {
+      size++;
+    }
+  }
+
+  public void push(final TeleportLocation location) {
+    push(
+        location.dimension(),
+        location.position(),
+        location.yRot(),
+        location.xRot(),
+        location.timestamp(),
+        location.gameType());
+  }
+
+  public synchronized TeleportLocation peek() {
+    return size == 0 ? null : getSlot(head);
+  }
+
+  public synchronized TeleportLocation pop() {
+    if (size == 0) {
+      return null;
+    }
+    TeleportLocation location = getSlot(head);
+    dimensions[head] = null;
+    gameTypes[head] = null;
+    encodedEntries[head] = null;
+    head = (head - 1 + capacity) % capacity;
+    size--;
+    return location;
+  }
+
+  public synchronized GameType findGameType(
+      final ResourceKey<Level> dimension, final GameType defaultGameType) {
+    for (int i = 0; i < size; i++) {
+      int slot = getSlotIndex(i);
+      if (dimensions[slot].equals(dimension)) {
+        return gameTypes[slot];
+      }
+    }
+    return defaultGameType;
+  }
+
+  public synchronized List<TeleportLocation> toList() {
+    List<TeleportLocation> locations = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      locations.add(getSlot(getSlotIndex(i)));
+    }
+    return locations;
+  }
+
+  public synchronized ListTag toListTag() {
+    ListTag listTag = new ListTag();
+    for (int i = 0; i < size; i++) {
+      int slot = getSlotIndex(i);
+      // Only entries which have changed since the last save need to be encoded again.
+      if (encodedEntries[slot] == null) {
+        Tag encodedEntry =
+            TeleportLocation.CODEC.encodeStart(NbtOps.INSTANCE, getSlot(slot)).result().orElse(null);
+        if (encodedEntry instanceof CompoundTag compoundTag) {
+          encodedEntries[slot] = compoundTag;
+        }
+      }
+      if (encodedEntries[slot] != null) {
+        listTag.add(encodedEntries[slot]);
+      }
+    }
+    return listTag;
+  }
+
+  public synchronized void clear() {
+    for (int i = 0; i < capacity; i++) {
+      dimensions[i] = null;
+      gameTypes[i] = null;
+      encodedEntries[i] = null;
+    }
+    head = -1;
+    size = 0;
+  }
+
+  public synchronized int size() {
+    return size;
+  }
+
+  public synchronized boolean isEmpty() {
+    return size == 0;
+  }
+
+  private int getSlotIndex(final int index) {
+    return (head - index + capacity) % capacity;
+  }
+
+  private TeleportLocation getSlot(final int slot) {
+    return new TeleportLocation(
+        dimensions[slot],
+        BlockPos.of(positions[slot]),
+        yRots[slot],
+        xRots[slot],
+        timestamps[slot],
+        gameTypes[slot]);
+  }
+}
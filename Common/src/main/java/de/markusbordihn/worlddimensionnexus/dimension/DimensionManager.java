@@ -23,36 +23,64 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonParser;
 import com.mojang.serialization.JsonOps;
 import de.markusbordihn.worlddimensionnexus.Constants;
+import de.markusbordihn.worlddimensionnexus.config.DimensionConfig;
 import de.markusbordihn.worlddimensionnexus.data.dimension.DimensionInfoData;
 import de.markusbordihn.worlddimensionnexus.data.worldgen.WorldgenInitializer;
+import de.markusbordihn.worlddimensionnexus.dimension.io.DimensionIOUtils;
 import de.markusbordihn.worlddimensionnexus.network.NetworkHandler;
+import de.markusbordihn.worlddimensionnexus.saveddata.AsyncSavedData;
 import de.markusbordihn.worlddimensionnexus.saveddata.DimensionDataStorage;
+import de.markusbordihn.worlddimensionnexus.teleport.TeleportManager;
 import de.markusbordihn.worlddimensionnexus.utils.ModLogger;
 import de.markusbordihn.worlddimensionnexus.utils.ModLogger.PrefixLogger;
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import net.minecraft.core.RegistryAccess;
 import net.minecraft.resources.RegistryOps;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.Entity;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.chunk.ChunkGenerator;
 import net.minecraft.world.level.dimension.DimensionType;
 import net.minecraft.world.level.dimension.LevelStem;
+import net.minecraft.world.level.storage.LevelResource;
 import net.minecraft.world.level.storage.ServerLevelData;
 
 public class DimensionManager {
 
   private static final PrefixLogger log = ModLogger.getPrefixLogger("Dimension Manager");
-  private static final Set<DimensionInfoData> dimensions = ConcurrentHashMap.newKeySet();
+  private static final String DELETED_DIMENSIONS_DIRECTORY = "deleted_dimensions";
+  private static final DimensionRegistry dimensions = new DimensionRegistry();
+  private static final Set<ResourceKey<Level>> pendingDimensions = new HashSet<>();
+
+  // Chunk generators and level stems are built on these threads, the levels on the server thread.
+  private static final ExecutorService preparationExecutor =
+      Executors.newFixedThreadPool(
+          Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1)),
+          runnable -> {
+            Thread thread = new Thread(runnable, "World Dimension Nexus Dimension Preparation");
+            thread.setDaemon(true);
+            return thread;
+          });
   private static MinecraftServer minecraftServer;
 
   private DimensionManager() {}
@@ -76,9 +104,30 @@ public class DimensionManager {
     log.info("Synchronizing {} dimensions ...", dimensionList.size());
     clear();
 
-    List<DimensionInfoData> dimensionsToUpdate = new ArrayList<>();
+    // Chunk generators and level stems are prepared in parallel, the levels are created here.
+    long preparationStart = System.nanoTime();
+    Map<DimensionInfoData, CompletableFuture<LevelStem>> preparedLevelStems =
+        new LinkedHashMap<>();
+    int inactiveDimensions = 0;
     for (DimensionInfoData dimensionInfo : dimensionList) {
-      ServerLevel level = addOrCreateDimension(dimensionInfo, false);
+      if (!shouldLoadOnServerStart(dimensionInfo)) {
+        // Only register the descriptor, the level is built when it is needed for the first time.
+        dimensions.put(dimensionInfo);
+        inactiveDimensions++;
+        continue;
+      }
+      preparedLevelStems.put(dimensionInfo, prepareLevelStemAsync(dimensionInfo, false));
+    }
+
+    List<DimensionInfoData> dimensionsToUpdate = new ArrayList<>();
+    for (Map.Entry<DimensionInfoData, CompletableFuture<LevelStem>> entry :
+        preparedLevelStems.entrySet()) {
+      DimensionInfoData dimensionInfo = entry.getKey();
+      LevelStem levelStem = awaitLevelStem(dimensionInfo, entry.getValue());
+      if (levelStem == null || dimensions.contains(dimensionInfo.getDimensionKey())) {
+        continue;
+      }
+      ServerLevel level = commitDimension(dimensionInfo, levelStem, false);
       if (level != null) {
         DimensionInfoData updated = markDimensionAsServerStartLoaded(dimensionInfo);
         if (updated != null) {
@@ -86,34 +135,106 @@ public class DimensionManager {
         }
       }
     }
+    if (!preparedLevelStems.isEmpty()) {
+      log.info(
+          "Loaded {} dimensions in {} ms.",
+          preparedLevelStems.size(),
+          (System.nanoTime() - preparationStart) / 1_000_000);
+    }
+    if (inactiveDimensions > 0) {
+      log.info("Registered {} dimensions for on-demand activation.", inactiveDimensions);
+    }
 
     if (!dimensionsToUpdate.isEmpty()) {
-      updateDimensionStorage(dimensionsToUpdate, dimensionList);
+      updateDimensionStorage(dimensionsToUpdate);
+    }
+  }
+
+  private static boolean shouldLoadOnServerStart(final DimensionInfoData dimensionInfo) {
+    // Dimensions created in the last session still need their first full load on server start.
+    return DimensionConfig.DEFAULT_DIMENSION_AUTO_LOAD || dimensionInfo.requiresHotInjectionSync();
+  }
+
+  public static ServerLevel getOrActivateLevel(final ResourceKey<Level> levelKey) {
+    ServerLevel serverLevel = getServerLevel(levelKey);
+    if (serverLevel != null || levelKey == null) {
+      return serverLevel;
+    }
+
+    DimensionInfoData dimensionInfo = dimensions.get(levelKey);
+    if (dimensionInfo == null) {
+      return null;
+    }
+    if (pendingDimensions.contains(levelKey)) {
+      log.warn("Dimension {} is being restored and can not be activated.", levelKey.location());
+      return null;
+    }
+    log.info("Activating dimension {} on demand ...", levelKey.location());
+    return createNewDimension(dimensionInfo, false);
+  }
+
+  public static boolean isDimensionActive(final ResourceKey<Level> levelKey) {
+    return getServerLevel(levelKey) != null;
+  }
+
+  public static boolean unloadDimension(final ResourceKey<Level> levelKey) {
+    ServerLevel serverLevel = getServerLevel(levelKey);
+    if (serverLevel == null || !dimensions.contains(levelKey)) {
+      return false;
+    }
+    if (!serverLevel.players().isEmpty()) {
+      log.warn("Unable to unload dimension {} with players inside.", levelKey.location());
+      return false;
     }
+
+    // Save and close the level, the dimension stays registered and is activated again on demand.
+    if (!closeLevel(serverLevel)) {
+      return false;
+    }
+    log.info("Unloaded dimension {}.", levelKey.location());
+    return true;
+  }
+
+  static boolean closeLevel(final ServerLevel serverLevel) {
+    ResourceKey<Level> levelKey = serverLevel.dimension();
+    try {
+      serverLevel.save(null, true, false);
+    } catch (RuntimeException e) {
+      log.error(
+          "Failed to save dimension {}, it stays loaded: {}", levelKey.location(), e.getMessage());
+      return false;
+    }
+
+    // A level which failed to close is not ticked again, its data was already saved above.
+    minecraftServer.levels.remove(levelKey);
+    try {
+      serverLevel.close();
+    } catch (IOException e) {
+      log.error(
+          "Saved dimension {} but failed to close it, some of its files may stay open: {}",
+          levelKey.location(),
+          e.getMessage());
+      return false;
+    }
+    return true;
+  }
+
+  public static List<DimensionInfoData> getDimensionInfoList() {
+    return List.copyOf(dimensions.getAll());
   }
 
   private static DimensionInfoData markDimensionAsServerStartLoaded(
       final DimensionInfoData dimensionInfo) {
     if (dimensionInfo.requiresHotInjectionSync()) {
       DimensionInfoData updatedInfo = dimensionInfo.withoutHotInjectionSync();
-      dimensions.remove(dimensionInfo);
-      dimensions.add(updatedInfo);
+      dimensions.put(updatedInfo);
       return updatedInfo;
     }
     return null;
   }
 
-  private static void updateDimensionStorage(
-      final List<DimensionInfoData> updatedDimensions,
-      final List<DimensionInfoData> originalDimensions) {
+  private static void updateDimensionStorage(final List<DimensionInfoData> updatedDimensions) {
     DimensionDataStorage storage = DimensionDataStorage.get();
-    List<DimensionInfoData> originalDimensionsCopy = new ArrayList<>(originalDimensions);
-    for (DimensionInfoData original : originalDimensionsCopy) {
-      if (original.requiresHotInjectionSync()) {
-        storage.removeDimension(original);
-      }
-    }
-
     for (DimensionInfoData updated : updatedDimensions) {
       storage.addDimension(updated);
     }
@@ -130,41 +251,124 @@ public class DimensionManager {
       return null;
     }
 
-    if (dimensions.contains(dimensionInfo)) {
+    if (dimensions.contains(dimensionInfo.getDimensionKey())) {
       log.info("Dimension {} already exists, skipping ...", dimensionInfo);
-      return getServerLevel(dimensionInfo.getDimensionKey());
+      return getOrActivateLevel(dimensionInfo.getDimensionKey());
+    }
+    if (pendingDimensions.contains(dimensionInfo.getDimensionKey())) {
+      log.warn("Dimension {} is already being created, skipping ...", dimensionInfo);
+      return null;
     }
 
     return createNewDimension(dimensionInfo, updateStorage);
   }
 
-  private static ServerLevel createNewDimension(
-      final DimensionInfoData dimensionInfo, final boolean updateStorage) {
-    ChunkGenerator chunkGenerator = dimensionInfo.getChunkGenerator(minecraftServer);
-    LevelStem levelStem =
-        new LevelStem(dimensionInfo.getDimensionTypeHolder(minecraftServer), chunkGenerator);
+  public static CompletableFuture<ServerLevel> addOrCreateDimensionAsync(
+      final DimensionInfoData dimensionInfo) {
+    MinecraftServer server = minecraftServer;
+    if (dimensionInfo == null || server == null) {
+      log.warn("DimensionInfoData or server is null, skipping ...");
+      return CompletableFuture.completedFuture(null);
+    }
 
-    ServerLevel newLevel = buildServerLevel(dimensionInfo, levelStem);
-    registerDimension(dimensionInfo, newLevel, updateStorage);
+    ResourceKey<Level> levelKey = dimensionInfo.getDimensionKey();
+    if (dimensions.contains(levelKey)) {
+      log.info("Dimension {} already exists, skipping ...", dimensionInfo);
+      return CompletableFuture.completedFuture(getOrActivateLevel(levelKey));
+    }
+    if (!pendingDimensions.add(levelKey)) {
+      log.warn("Dimension {} is already being created, skipping ...", levelKey.location());
+      return CompletableFuture.completedFuture(null);
+    }
 
-    log.info("Created and loaded new dimension: {}", dimensionInfo.getDimensionKey().location());
-    return newLevel;
+    // The level stem is prepared on a worker thread, the level is created on the server thread.
+    return prepareLevelStemAsync(dimensionInfo, false)
+        .handleAsync(
+            (levelStem, throwable) -> {
+              pendingDimensions.remove(levelKey);
+              if (throwable != null) {
+                log.error(
+                    "Failed to prepare dimension {}: {}",
+                    levelKey.location(),
+                    throwable.getMessage());
+                return null;
+              }
+              if (dimensions.contains(levelKey)) {
+                return getOrActivateLevel(levelKey);
+              }
+              try {
+                return commitDimension(dimensionInfo, levelStem, true);
+              } catch (Exception e) {
+                log.error("Failed to create dimension {}:", levelKey.location(), e);
+                return null;
+              }
+            },
+            server);
+  }
+
+  static boolean reserveDimension(final ResourceKey<Level> levelKey) {
+    return !dimensions.contains(levelKey) && pendingDimensions.add(levelKey);
+  }
+
+  static boolean lockDimension(final ResourceKey<Level> levelKey) {
+    return dimensions.contains(levelKey) && pendingDimensions.add(levelKey);
+  }
+
+  static void releaseDimension(final ResourceKey<Level> levelKey) {
+    pendingDimensions.remove(levelKey);
+  }
+
+  private static ServerLevel createNewDimension(
+      final DimensionInfoData dimensionInfo, final boolean updateStorage) {
+    return commitDimension(dimensionInfo, prepareLevelStem(dimensionInfo, false), updateStorage);
   }
 
   public static ServerLevel createNewDimensionWithJsonSupport(
       final DimensionInfoData dimensionInfo, final boolean updateStorage) {
+    return commitDimension(dimensionInfo, prepareLevelStem(dimensionInfo, true), updateStorage);
+  }
 
-    Optional<LevelStem> jsonLevelStem = tryLoadLevelStemFromJson(dimensionInfo);
-    LevelStem levelStem;
-    if (jsonLevelStem.isPresent()) {
-      levelStem = jsonLevelStem.get();
-      log.info(
-          "Using complete LevelStem from JSON for dimension: {}",
-          dimensionInfo.getDimensionKey().location());
-    } else {
-      ChunkGenerator chunkGenerator = dimensionInfo.getChunkGenerator(minecraftServer);
-      levelStem =
-          new LevelStem(dimensionInfo.getDimensionTypeHolder(minecraftServer), chunkGenerator);
+  private static CompletableFuture<LevelStem> prepareLevelStemAsync(
+      final DimensionInfoData dimensionInfo, final boolean jsonSupport) {
+    return CompletableFuture.supplyAsync(
+        () -> prepareLevelStem(dimensionInfo, jsonSupport), preparationExecutor);
+  }
+
+  static LevelStem prepareLevelStem(
+      final DimensionInfoData dimensionInfo, final boolean jsonSupport) {
+    if (jsonSupport) {
+      Optional<LevelStem> jsonLevelStem = tryLoadLevelStemFromJson(dimensionInfo);
+      if (jsonLevelStem.isPresent()) {
+        log.info(
+            "Using complete LevelStem from JSON for dimension: {}",
+            dimensionInfo.getDimensionKey().location());
+        return jsonLevelStem.get();
+      }
+    }
+    ChunkGenerator chunkGenerator = dimensionInfo.getChunkGenerator(minecraftServer);
+    return new LevelStem(dimensionInfo.getDimensionTypeHolder(minecraftServer), chunkGenerator);
+  }
+
+  private static LevelStem awaitLevelStem(
+      final DimensionInfoData dimensionInfo, final CompletableFuture<LevelStem> levelStem) {
+    try {
+      return levelStem.join();
+    } catch (CompletionException | CancellationException e) {
+      log.error(
+          "Failed to prepare dimension {}: {}",
+          dimensionInfo.getDimensionKey().location(),
+          e.getMessage());
+      return null;
+    }
+  }
+
+  private static ServerLevel commitDimension(
+      final DimensionInfoData dimensionInfo,
+      final LevelStem levelStem,
+      final boolean updateStorage) {
+    // New dimensions take over a pre-generated dimension folder from the pool, if available.
+    if (updateStorage) {
+      DimensionPoolManager.claim(dimensionInfo);
     }
 
     ServerLevel newLevel = buildServerLevel(dimensionInfo, levelStem);
@@ -204,7 +408,7 @@ public class DimensionManager {
     }
   }
 
-  private static ServerLevel buildServerLevel(
+  static ServerLevel buildServerLevel(
       final DimensionInfoData dimensionInfo, final LevelStem levelStem) {
     ServerLevel overworld = minecraftServer.overworld();
     return new ServerLevel(
@@ -225,7 +429,7 @@ public class DimensionManager {
   private static void registerDimension(
       final DimensionInfoData dimensionInfo, final ServerLevel newLevel, boolean updateStorage) {
     minecraftServer.levels.put(dimensionInfo.getDimensionKey(), newLevel);
-    dimensions.add(dimensionInfo);
+    dimensions.put(dimensionInfo);
 
     if (dimensionInfo.requiresHotInjectionSync()) {
       NetworkHandler.syncDimensionToClients(newLevel);
@@ -246,88 +450,142 @@ public class DimensionManager {
       return false;
     }
 
-    if (dimensions.remove(dimensionInfoData)) {
-      ResourceKey<Level> levelKey = dimensionInfoData.getDimensionKey();
-      ServerLevel serverLevel = getServerLevel(levelKey);
-      if (serverLevel != null) {
-        minecraftServer.levels.remove(levelKey);
-        DimensionDataStorage.get().removeDimension(dimensionInfoData);
+    ResourceKey<Level> levelKey = dimensionInfoData.getDimensionKey();
+    if (!dimensions.contains(levelKey)) {
+      log.warn("Dimension {} not found in dimension registry.", dimensionInfoData);
+      return false;
+    }
+    if (pendingDimensions.contains(levelKey)) {
+      log.warn("Dimension {} is being restored and can not be removed.", levelKey.location());
+      return false;
+    }
 
-        log.info("Removed dimension: {}", levelKey.location());
-        return true;
-      } else {
-        log.warn("Dimension {} does not exist, skipping removal ...", levelKey.location());
-      }
-    } else {
-      log.warn("Dimension {} not found in dimensions set.", dimensionInfoData);
+    ServerLevel serverLevel = getServerLevel(levelKey);
+    if (serverLevel != null && !teardownLevel(serverLevel) && getServerLevel(levelKey) != null) {
+      log.warn("Dimension {} could not be saved and was not removed.", levelKey.location());
+      return false;
     }
-    return false;
+    dimensions.remove(levelKey);
+    DimensionUnloadManager.forgetDimension(levelKey);
+    DimensionPregenManager.cancel(levelKey);
+    DimensionDataStorage.get().removeDimension(dimensionInfoData);
+    removeDimensionFolder(levelKey);
+    log.info("Removed dimension: {}", levelKey.location());
+    return true;
   }
 
-  public static DimensionInfoData getDimensionInfoData(final String name) {
-    if (!name.contains(":")) {
-      return getDimensionInfoDataByModName(name);
+  private static boolean teardownLevel(final ServerLevel serverLevel) {
+    ResourceKey<Level> levelKey = serverLevel.dimension();
+
+    // Move all players out of the dimension before its chunks are saved and released.
+    evacuatePlayers(serverLevel);
+
+    int loadedChunks = serverLevel.getChunkSource().getLoadedChunksCount();
+    int loadedEntities = 0;
+    for (Entity ignored : serverLevel.getAllEntities()) {
+      loadedEntities++;
     }
+    int forcedChunks = serverLevel.getForcedChunks().size();
 
-    try {
-      ResourceLocation resourceLocation = ResourceLocation.parse(name);
-      return getDimensionInfoData(resourceLocation);
-    } catch (Exception e) {
-      log.warn("Invalid resource location format: {}", name);
+    if (!closeLevel(serverLevel)) {
+      return false;
+    }
+    log.info(
+        "Released {} chunks ({} forced) and {} entities of dimension {}.",
+        loadedChunks,
+        forcedChunks,
+        loadedEntities,
+        levelKey.location());
+    return true;
+  }
+
+  static List<ServerPlayer> evacuatePlayers(final ServerLevel serverLevel) {
+    ServerLevel fallbackLevel = minecraftServer.overworld();
+    List<ServerPlayer> serverPlayers = List.copyOf(serverLevel.players());
+    // The dimension may be removed, so it is not recorded in the teleport history for /back.
+    for (ServerPlayer serverPlayer : serverPlayers) {
+      log.info("Moving player {} out of dimension {} ...", serverPlayer, serverLevel.dimension());
+      TeleportManager.teleportPlayerWithoutHistory(
+          serverPlayer, fallbackLevel.dimension(), fallbackLevel.getSharedSpawnPos());
+    }
+    return serverPlayers;
+  }
+
+  private static void removeDimensionFolder(final ResourceKey<Level> levelKey) {
+    if (DimensionConfig.PREVENT_DIMENSION_DELETION) {
+      return;
+    }
+    Path dimensionFolder = DimensionIOUtils.getDimensionFolder(minecraftServer, levelKey);
+    if (!Files.exists(dimensionFolder)) {
+      return;
+    }
+    Path archiveFolder =
+        DimensionConfig.BACKUP_DELETED_DIMENSIONS
+            ? minecraftServer
+                .getWorldPath(LevelResource.ROOT)
+                .resolve("data")
+                .resolve(Constants.MOD_ID)
+                .resolve(DELETED_DIMENSIONS_DIRECTORY)
+                .resolve(levelKey.location().getNamespace())
+                .resolve(levelKey.location().getPath() + "_" + System.currentTimeMillis())
+            : null;
+
+    // Queued behind the pending saves, so the folder is only touched after the level was written.
+    AsyncSavedData.submitWrite(
+        () -> {
+          try {
+            if (archiveFolder != null) {
+              Files.createDirectories(archiveFolder.getParent());
+              Files.move(dimensionFolder, archiveFolder);
+              log.info("Archived dimension folder {} to {}", dimensionFolder, archiveFolder);
+            } else {
+              DimensionIOUtils.deleteDirectory(dimensionFolder);
+              log.info("Deleted dimension folder {}", dimensionFolder);
+            }
+          } catch (IOException e) {
+            log.error("Failed to remove dimension folder {}: {}", dimensionFolder, e.getMessage());
+          }
+        });
+  }
+
+  public static DimensionInfoData getDimensionInfoData(final String name) {
+    if (name == null) {
       return null;
     }
+    return name.contains(":") ? dimensions.getByName(name) : dimensions.getBySimpleName(name);
   }
 
   public static DimensionInfoData getDimensionInfoDataByModName(final String simpleName) {
-    for (DimensionInfoData dimensionInfo : dimensions) {
-      ResourceLocation dimensionLocation = dimensionInfo.getDimensionKey().location();
-      if (dimensionLocation.getNamespace().equals(Constants.MOD_ID)
-          && dimensionLocation.getPath().equals(simpleName)) {
-        return dimensionInfo;
-      }
-    }
-    return null;
+    return dimensions.getBySimpleName(simpleName);
   }
 
   public static DimensionInfoData getDimensionInfoData(final ResourceLocation resourceLocation) {
-    for (DimensionInfoData dimensionInfo : dimensions) {
-      if (dimensionInfo.getDimensionKey().location().equals(resourceLocation)) {
-        return dimensionInfo;
-      }
-    }
-    return null;
+    return dimensions.get(resourceLocation);
   }
 
   public static ServerLevel getDimensionServerLevel(final String name) {
     DimensionInfoData dimensionInfo = getDimensionInfoData(name);
     if (dimensionInfo != null) {
-      return getServerLevel(dimensionInfo.getDimensionKey());
+      return getOrActivateLevel(dimensionInfo.getDimensionKey());
     }
     log.warn("Dimension {} not found, returning null.", name);
     return null;
   }
 
   public static List<ResourceKey<Level>> getDimensions(final MinecraftServer server) {
-    return server.levelKeys().stream()
-        .filter(levelKey -> !levelKey.equals(Level.OVERWORLD))
-        .toList();
+    Set<ResourceKey<Level>> levelKeys = new LinkedHashSet<>(server.levelKeys());
+    for (DimensionInfoData dimensionInfo : dimensions.getAll()) {
+      levelKeys.add(dimensionInfo.getDimensionKey());
+    }
+    return levelKeys.stream().filter(levelKey -> !levelKey.equals(Level.OVERWORLD)).toList();
   }
 
   public static DimensionInfoData getDimensionInfo(final ResourceKey<Level> levelKey) {
-    for (DimensionInfoData dimensionInfo : dimensions) {
-      if (dimensionInfo.getDimensionKey().equals(levelKey)) {
-        return dimensionInfo;
-      }
-    }
-    return null;
+    return dimensions.get(levelKey);
   }
 
   public static Collection<String> getDimensionNames() {
-    return dimensions.stream()
-        .map(dimensionInfo -> dimensionInfo.getDimensionKey().location())
-        .filter(location -> location.getNamespace().equals(Constants.MOD_ID))
-        .map(ResourceLocation::getPath)
-        .toList();
+    return List.copyOf(dimensions.getSimpleNames());
   }
 
   public static DimensionType loadDimensionType(
@@ -382,6 +640,7 @@ public class DimensionManager {
       return false;
     }
 
+    // Registered dimensions exist even if their level is not active yet.
     if (getDimensionInfoData(dimension) != null) {
       return true;
     }
@@ -406,9 +665,9 @@ public class DimensionManager {
       return false;
     }
 
-    dimensions.remove(oldInfo);
-    dimensions.add(updatedInfo);
+    dimensions.replace(oldInfo, updatedInfo);
 
+    // Replaces the stored entry for this dimension instead of appending a new one.
     DimensionDataStorage.get().addDimension(updatedInfo);
 
     return true;
@@ -417,6 +676,7 @@ public class DimensionManager {
   public static void clearAllCache() {
     log.info("Clearing dimension manager cache for world switch...");
     dimensions.clear();
+    pendingDimensions.clear();
     minecraftServer = null;
   }
 }
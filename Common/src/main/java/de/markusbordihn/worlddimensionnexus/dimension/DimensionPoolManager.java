@@ -0,0 +1,367 @@
+/*
+ * Copyright 2025 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.worlddimensionnexus.dimension;
+
+import de.markusbordihn.worlddimensionnexus.Constants;
+import de.markusbordihn.worlddimensionnexus.config.DimensionConfig;
+import de.markusbordihn.worlddimensionnexus.data.chunk.ChunkGeneratorType;
+import de.markusbordihn.worlddimensionnexus.data.dimension.DimensionInfoData;
+import de.markusbordihn.worlddimensionnexus.dimension.io.DimensionIOUtils;
+import de.markusbordihn.worlddimensionnexus.utils.ModLogger;
+import de.markusbordihn.worlddimensionnexus.utils.ModLogger.PrefixLogger;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerChunkCache;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.storage.LevelResource;
+
+public class DimensionPoolManager {
+
+  private static final PrefixLogger log = ModLogger.getPrefixLogger("Dimension Pool Manager");
+
+  // Pool dimensions use their own namespace, so they never clash with registered dimensions.
+  private static final String POOL_NAMESPACE = Constants.MOD_ID + "_pool";
+  private static final String POOL_DIRECTORY = "dimension_pool";
+  private static final int MIN_RETRY_DELAY_TICKS = 20 * 30;
+  private static final int MAX_RETRY_DELAY_TICKS = 20 * 60 * 30;
+
+  private static final Map<ChunkGeneratorType, Deque<Path>> readyDimensions =
+      new EnumMap<>(ChunkGeneratorType.class);
+
+  private static MinecraftServer minecraftServer;
+  private static ServerLevel warmingLevel;
+  private static ChunkGeneratorType warmingType;
+  private static ChunkPos warmingCenter;
+  private static int warmingChunkIndex;
+  private static int warmingPendingChunks;
+  private static int warmingCompletedChunks;
+  private static long warmingStartTime;
+  private static int failedWarmingAttempts;
+  private static int nextWarmingTick;
+
+  private static long poolHits = 0;
+  private static long poolMisses = 0;
+  private static long generatedDimensions = 0;
+
+  private DimensionPoolManager() {}
+
+  public static void initialize(final MinecraftServer minecraftServer) {
+    clearAllCache();
+    DimensionPoolManager.minecraftServer = minecraftServer;
+    if (minecraftServer == null) {
+      return;
+    }
+
+    // Remove dimensions which were still being generated when the server stopped.
+    try {
+      DimensionIOUtils.deleteDirectory(getWarmingFolder(null));
+    } catch (IOException e) {
+      log.error("Failed to remove incomplete pool dimensions: {}", e.getMessage());
+    }
+
+    for (ChunkGeneratorType type : ChunkGeneratorType.values()) {
+      Path typeFolder = getPoolFolder().resolve(type.getName());
+      if (!Files.isDirectory(typeFolder)) {
+        continue;
+      }
+      try (Stream<Path> folders = Files.list(typeFolder)) {
+        List<Path> readyFolders = folders.filter(Files::isDirectory).sorted().toList();
+        readyDimensions.computeIfAbsent(type, key -> new ArrayDeque<>()).addAll(readyFolders);
+      } catch (IOException e) {
+        log.error("Failed to read dimension pool {}: {}", typeFolder, e.getMessage());
+      }
+    }
+    if (!readyDimensions.isEmpty()) {
+      log.info("Found pre-generated dimensions: {}", getReadyCounts());
+    }
+  }
+
+  public static void processRefill(final MinecraftServer minecraftServer) {
+    if (DimensionConfig.DIMENSION_POOL_SIZE <= 0
+        || minecraftServer == null
+        || minecraftServer != DimensionPoolManager.minecraftServer) {
+      return;
+    }
+
+    if (warmingLevel == null) {
+      if (minecraftServer.getTickCount() < nextWarmingTick) {
+        return;
+      }
+      ChunkGeneratorType type = getTypeToRefill();
+      if (type == null || !startWarming(type)) {
+        return;
+      }
+    }
+
+    // Chunks are requested without blocking, at most as many at once as for pregeneration.
+    int radius = DimensionConfig.DIMENSION_POOL_PREGEN_RADIUS;
+    int diameter = radius * 2 + 1;
+    while (warmingPendingChunks < DimensionConfig.DIMENSION_PREGEN_MAX_CONCURRENT_CHUNKS
+        && warmingChunkIndex < diameter * diameter) {
+      requestWarmingChunk(
+          new ChunkPos(
+              warmingCenter.x + warmingChunkIndex % diameter - radius,
+              warmingCenter.z + warmingChunkIndex / diameter - radius));
+      warmingChunkIndex++;
+    }
+
+    // The pool level is not ticked by the server, so its chunk tasks are run within the budget.
+    long deadline = System.nanoTime() + DimensionConfig.DIMENSION_POOL_TICK_BUDGET * 1_000_000L;
+    ServerChunkCache chunkSource = warmingLevel.getChunkSource();
+    chunkSource.tick(() -> System.nanoTime() < deadline, false);
+    while (System.nanoTime() < deadline && chunkSource.pollTask()) {
+      // Run the next pending chunk task.
+    }
+    if (warmingCompletedChunks >= diameter * diameter) {
+      finishWarming();
+    }
+  }
+
+  private static void requestWarmingChunk(final ChunkPos chunkPos) {
+    ServerLevel serverLevel = warmingLevel;
+    warmingPendingChunks++;
+    DimensionPregenManager.requestChunkAsync(serverLevel, chunkPos)
+        .thenAccept(
+            generated -> {
+              // Requests of an abandoned pool level are ignored.
+              if (serverLevel != warmingLevel) {
+                return;
+              }
+              if (!generated) {
+                log.warn(
+                    "Failed to pre-generate chunk {} of {}.",
+                    chunkPos,
+                    serverLevel.dimension().location());
+              }
+              warmingPendingChunks--;
+              warmingCompletedChunks++;
+            });
+  }
+
+  public static boolean claim(final DimensionInfoData dimensionInfo) {
+    if (DimensionConfig.DIMENSION_POOL_SIZE <= 0
+        || minecraftServer == null
+        || dimensionInfo == null
+        || !isPooledType(dimensionInfo.chunkGeneratorType())) {
+      return false;
+    }
+
+    // Imported or cloned dimensions already bring their own files.
+    Path dimensionFolder =
+        DimensionIOUtils.getDimensionFolder(minecraftServer, dimensionInfo.getDimensionKey());
+    if (Files.exists(dimensionFolder)) {
+      return false;
+    }
+
+    Deque<Path> readyFolders = readyDimensions.get(dimensionInfo.chunkGeneratorType());
+    Path readyFolder = readyFolders == null ? null : readyFolders.poll();
+    if (readyFolder == null) {
+      poolMisses++;
+      log.debug("No pre-generated dimension for {}.", dimensionInfo.chunkGeneratorType());
+      return false;
+    }
+
+    try {
+      Files.createDirectories(dimensionFolder.getParent());
+      Files.move(readyFolder, dimensionFolder, StandardCopyOption.ATOMIC_MOVE);
+      poolHits++;
+      log.info(
+          "Using pre-generated {} dimension for {}.",
+          dimensionInfo.chunkGeneratorType().getName(),
+          dimensionInfo.getDimensionKey().location());
+      return true;
+    } catch (IOException e) {
+      poolMisses++;
+      log.error("Failed to claim pre-generated dimension {}: {}", readyFolder, e.getMessage());
+      return false;
+    }
+  }
+
+  private static ChunkGeneratorType getTypeToRefill() {
+    for (ChunkGeneratorType type : ChunkGeneratorType.values()) {
+      if (!isPooledType(type)) {
+        continue;
+      }
+      Deque<Path> readyFolders = readyDimensions.get(type);
+      if (readyFolders == null || readyFolders.size() < DimensionConfig.DIMENSION_POOL_SIZE) {
+        return type;
+      }
+    }
+    return null;
+  }
+
+  private static boolean startWarming(final ChunkGeneratorType type) {
+    String poolName = type.getName() + "_" + System.currentTimeMillis();
+    DimensionInfoData dimensionInfo =
+        DimensionInfoData.fromDimensionNameAndType(POOL_NAMESPACE + ":" + poolName, type);
+    try {
+      warmingLevel =
+          DimensionManager.buildServerLevel(
+              dimensionInfo, DimensionManager.prepareLevelStem(dimensionInfo, false));
+    } catch (RuntimeException e) {
+      warmingLevel = null;
+      scheduleWarmingRetry(poolName, e);
+      return false;
+    }
+    failedWarmingAttempts = 0;
+    warmingType = type;
+    warmingCenter = new ChunkPos(dimensionInfo.spawnPoint());
+    warmingChunkIndex = 0;
+    warmingPendingChunks = 0;
+    warmingCompletedChunks = 0;
+    warmingStartTime = System.nanoTime();
+    log.debug("Pre-generating {} dimension {} ...", type.getName(), poolName);
+    return true;
+  }
+
+  private static void scheduleWarmingRetry(final String poolName, final RuntimeException e) {
+    // Failures are retried with an increasing delay, instead of on every tick.
+    int retryDelay =
+        (int)
+            Math.min(
+                (long) MIN_RETRY_DELAY_TICKS << Math.min(failedWarmingAttempts, 16),
+                MAX_RETRY_DELAY_TICKS);
+    nextWarmingTick = minecraftServer.getTickCount() + retryDelay;
+    if (failedWarmingAttempts++ == 0) {
+      log.error(
+          "Failed to create pool dimension {}, retrying in {} seconds: {}",
+          poolName,
+          retryDelay / 20,
+          e.getMessage());
+    } else {
+      log.debug(
+          "Failed to create pool dimension {} again, retrying in {} seconds: {}",
+          poolName,
+          retryDelay / 20,
+          e.getMessage());
+    }
+  }
+
+  private static void finishWarming() {
+    ResourceKey<Level> levelKey = warmingLevel.dimension();
+    boolean closed = DimensionManager.closeLevel(warmingLevel);
+    warmingLevel = null;
+    if (!closed) {
+      return;
+    }
+
+    Path warmingFolder = getWarmingFolder(levelKey);
+    Path readyFolder =
+        getPoolFolder().resolve(warmingType.getName()).resolve(levelKey.location().getPath());
+    try {
+      Files.createDirectories(readyFolder.getParent());
+      Files.move(warmingFolder, readyFolder, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      log.error("Failed to add {} to the dimension pool: {}", levelKey, e.getMessage());
+      return;
+    }
+    readyDimensions.computeIfAbsent(warmingType, key -> new ArrayDeque<>()).add(readyFolder);
+    generatedDimensions++;
+    log.info(
+        "Pre-generated {} dimension in {} ms, ready: {}",
+        warmingType.getName(),
+        (System.nanoTime() - warmingStartTime) / 1_000_000,
+        getReadyCounts());
+  }
+
+  private static boolean isPooledType(final ChunkGeneratorType type) {
+    return DimensionConfig.DIMENSION_POOL_TYPES.contains(type.getName());
+  }
+
+  private static Map<ChunkGeneratorType, Integer> getReadyCounts() {
+    Map<ChunkGeneratorType, Integer> readyCounts = new EnumMap<>(ChunkGeneratorType.class);
+    readyDimensions.forEach((type, folders) -> readyCounts.put(type, folders.size()));
+    return readyCounts;
+  }
+
+  private static Path getPoolFolder() {
+    return minecraftServer
+        .getWorldPath(LevelResource.ROOT)
+        .resolve("data")
+        .resolve(Constants.MOD_ID)
+        .resolve(POOL_DIRECTORY);
+  }
+
+  private static Path getWarmingFolder(final ResourceKey<Level> levelKey) {
+    if (levelKey != null) {
+      return DimensionIOUtils.getDimensionFolder(minecraftServer, levelKey);
+    }
+    return DimensionIOUtils.getDimensionFolder(
+            minecraftServer,
+            ResourceKey.create(
+                Registries.DIMENSION,
+                ResourceLocation.fromNamespaceAndPath(POOL_NAMESPACE, "pool")))
+        .getParent();
+  }
+
+  public static String getMetricsSummary() {
+    return String.format(
+        "hits=%d, misses=%d, generated=%d, ready=%s, generating=%s",
+        poolHits,
+        poolMisses,
+        generatedDimensions,
+        getReadyCounts(),
+        warmingLevel == null ? "-" : warmingType.getName());
+  }
+
+  public static void close() {
+    if (warmingLevel == null) {
+      return;
+    }
+    ResourceKey<Level> levelKey = warmingLevel.dimension();
+    DimensionManager.closeLevel(warmingLevel);
+    warmingLevel = null;
+    try {
+      DimensionIOUtils.deleteDirectory(getWarmingFolder(levelKey));
+    } catch (IOException e) {
+      log.error("Failed to remove incomplete pool dimension {}: {}", levelKey, e.getMessage());
+    }
+  }
+
+  public static void clearAllCache() {
+    readyDimensions.clear();
+    minecraftServer = null;
+    warmingLevel = null;
+    warmingType = null;
+    warmingCenter = null;
+    warmingChunkIndex = 0;
+    warmingPendingChunks = 0;
+    warmingCompletedChunks = 0;
+    failedWarmingAttempts = 0;
+    nextWarmingTick = 0;
+    poolHits = 0;
+    poolMisses = 0;
+    generatedDimensions = 0;
+  }
+}
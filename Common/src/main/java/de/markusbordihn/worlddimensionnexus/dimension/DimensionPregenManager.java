@@ -0,0 +1,427 @@
+/*
+ * Copyright 2025 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.worlddimensionnexus.dimension;
+
+import de.markusbordihn.worlddimensionnexus.Constants;
+import de.markusbordihn.worlddimensionnexus.config.DimensionConfig;
+import de.markusbordihn.worlddimensionnexus.data.dimension.DimensionInfoData;
+import de.markusbordihn.worlddimensionnexus.saveddata.AsyncSavedData;
+import de.markusbordihn.worlddimensionnexus.utils.ModLogger;
+import de.markusbordihn.worlddimensionnexus.utils.ModLogger.PrefixLogger;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.NbtAccounter;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.Tag;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerChunkCache;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.TicketType;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.chunk.status.ChunkStatus;
+import net.minecraft.world.level.storage.LevelResource;
+
+public class DimensionPregenManager {
+
+  private static final PrefixLogger log = ModLogger.getPrefixLogger("Dimension Pregen Manager");
+
+  private static final String PREGEN_FILE = "pregen_tasks.dat";
+  private static final String TASKS_TAG = "Tasks";
+  private static final String DIMENSION_TAG = "Dimension";
+  private static final String CENTER_X_TAG = "CenterX";
+  private static final String CENTER_Z_TAG = "CenterZ";
+  private static final String RADIUS_TAG = "Radius";
+  private static final String CURSOR_TAG = "Cursor";
+
+  private static final int RATE_UPDATE_INTERVAL_TICKS = 20;
+  private static final int SAVE_INTERVAL_TICKS = 600;
+
+  // Keeps requested chunks loaded until they are generated, afterwards they unload normally.
+  private static final TicketType<ChunkPos> PREGEN_TICKET =
+      TicketType.create(Constants.MOD_ID + "_pregen", Comparator.comparingLong(ChunkPos::toLong));
+
+  private static final Map<ResourceKey<Level>, PregenTask> tasks = new LinkedHashMap<>();
+
+  private static MinecraftServer minecraftServer;
+  private static int concurrentChunks = 1;
+  private static double averageTickTime = 0.0;
+  private static boolean dirty = false;
+  private static long generatedChunks = 0;
+  private static long failedChunks = 0;
+
+  private DimensionPregenManager() {}
+
+  public static void initialize(final MinecraftServer minecraftServer) {
+    clearAllCache();
+    DimensionPregenManager.minecraftServer = minecraftServer;
+    if (minecraftServer == null) {
+      return;
+    }
+
+    Path pregenFile = getPregenFile();
+    if (!Files.exists(pregenFile)) {
+      return;
+    }
+    try {
+      CompoundTag compoundTag = NbtIo.readCompressed(pregenFile, NbtAccounter.unlimitedHeap());
+      ListTag taskListTag = compoundTag.getList(TASKS_TAG, Tag.TAG_COMPOUND);
+      for (int i = 0; i < taskListTag.size(); i++) {
+        CompoundTag taskTag = taskListTag.getCompound(i);
+        ResourceLocation dimension = ResourceLocation.tryParse(taskTag.getString(DIMENSION_TAG));
+        if (dimension == null) {
+          continue;
+        }
+        PregenTask pregenTask =
+            new PregenTask(
+                ResourceKey.create(Registries.DIMENSION, dimension),
+                new ChunkPos(taskTag.getInt(CENTER_X_TAG), taskTag.getInt(CENTER_Z_TAG)),
+                taskTag.getInt(RADIUS_TAG),
+                taskTag.getInt(CURSOR_TAG));
+        tasks.put(pregenTask.levelKey, pregenTask);
+      }
+    } catch (IOException | RuntimeException e) {
+      log.error("Failed to read pregeneration progress {}: {}", pregenFile, e.getMessage());
+    }
+    if (!tasks.isEmpty()) {
+      log.info("Resuming pregeneration of {} dimension(s).", tasks.size());
+    }
+  }
+
+  public static boolean startPregen(
+      final MinecraftServer minecraftServer, final String dimensionName, final int radius) {
+    DimensionInfoData dimensionInfo = DimensionManager.getDimensionInfoData(dimensionName);
+    if (minecraftServer == null
+        || minecraftServer != DimensionPregenManager.minecraftServer
+        || dimensionInfo == null
+        || radius < 0
+        || radius > DimensionConfig.DIMENSION_PREGEN_MAX_RADIUS) {
+      log.warn("Unable to pregenerate dimension {} with radius {}.", dimensionName, radius);
+      return false;
+    }
+
+    // The spiral order is the same for every radius, so a larger radius continues the old run.
+    ResourceKey<Level> levelKey = dimensionInfo.getDimensionKey();
+    ChunkPos center = new ChunkPos(dimensionInfo.spawnPoint());
+    PregenTask existingTask = tasks.remove(levelKey);
+    int cursor =
+        existingTask != null && existingTask.center.equals(center) ? existingTask.getCursor() : 0;
+    PregenTask pregenTask = new PregenTask(levelKey, center, radius, cursor);
+    tasks.put(levelKey, pregenTask);
+    dirty = true;
+    log.info(
+        "Pregenerating {} chunks of dimension {} around {} starting at {}.",
+        pregenTask.totalChunks,
+        levelKey.location(),
+        center,
+        cursor);
+    return true;
+  }
+
+  public static boolean stopPregen(final String dimensionName) {
+    DimensionInfoData dimensionInfo = DimensionManager.getDimensionInfoData(dimensionName);
+    return dimensionInfo != null && cancel(dimensionInfo.getDimensionKey());
+  }
+
+  public static boolean cancel(final ResourceKey<Level> levelKey) {
+    PregenTask pregenTask = tasks.remove(levelKey);
+    if (pregenTask == null) {
+      return false;
+    }
+    dirty = true;
+    log.info("Stopped pregeneration of dimension {}.", levelKey.location());
+    return true;
+  }
+
+  public static boolean isPregenerating(final ResourceKey<Level> levelKey) {
+    return tasks.containsKey(levelKey);
+  }
+
+  public static void processPregen(final MinecraftServer minecraftServer) {
+    if (minecraftServer == null || minecraftServer != DimensionPregenManager.minecraftServer) {
+      return;
+    }
+
+    int tickCount = minecraftServer.getTickCount();
+    if (tickCount % SAVE_INTERVAL_TICKS == 0) {
+      saveProgress();
+    }
+
+    Iterator<PregenTask> taskIterator = tasks.values().iterator();
+    if (!taskIterator.hasNext()) {
+      return;
+    }
+    if (tickCount % RATE_UPDATE_INTERVAL_TICKS == 0) {
+      updateConcurrentChunks(minecraftServer);
+    }
+
+    // Dimensions are pregenerated one after another, the remaining tasks are queued.
+    PregenTask pregenTask = taskIterator.next();
+    if (pregenTask.isDone()) {
+      taskIterator.remove();
+      dirty = true;
+      saveProgress();
+      log.info(
+          "Finished pregeneration of dimension {} with {} chunks, {}.",
+          pregenTask.levelKey.location(),
+          pregenTask.totalChunks,
+          pregenTask.getRateSummary());
+      return;
+    }
+
+    ServerLevel serverLevel = DimensionManager.getOrActivateLevel(pregenTask.levelKey);
+    if (serverLevel == null) {
+      taskIterator.remove();
+      dirty = true;
+      log.warn(
+          "Stopped pregeneration of unavailable dimension {}.", pregenTask.levelKey.location());
+      return;
+    }
+
+    // Requests of a closed level never complete, so they are requested again.
+    if (pregenTask.serverLevel != serverLevel) {
+      pregenTask.nextIndex = pregenTask.getCursor();
+      pregenTask.pendingIndices.clear();
+      pregenTask.serverLevel = serverLevel;
+    }
+
+    while (pregenTask.pendingIndices.size() < concurrentChunks
+        && pregenTask.nextIndex < pregenTask.totalChunks) {
+      requestChunk(pregenTask, serverLevel, pregenTask.nextIndex++);
+    }
+  }
+
+  private static void requestChunk(
+      final PregenTask pregenTask, final ServerLevel serverLevel, final int index) {
+    ChunkPos chunkPos = getSpiralChunkPos(pregenTask.center, index);
+    pregenTask.pendingIndices.add(index);
+    requestChunkAsync(serverLevel, chunkPos)
+        .thenAccept(
+            generated -> {
+              if (pregenTask.serverLevel != serverLevel
+                  || !pregenTask.pendingIndices.remove(index)) {
+                return;
+              }
+              if (Boolean.TRUE.equals(generated)) {
+                generatedChunks++;
+              } else {
+                failedChunks++;
+                log.debug("Failed to pregenerate chunk {} in {}.", chunkPos, pregenTask.levelKey);
+              }
+              pregenTask.processedChunks++;
+              dirty = true;
+            });
+  }
+
+  // Must be called on the server thread, the returned future also completes on it.
+  static CompletableFuture<Boolean> requestChunkAsync(
+      final ServerLevel serverLevel, final ChunkPos chunkPos) {
+    ServerChunkCache chunkSource = serverLevel.getChunkSource();
+    chunkSource.addRegionTicket(PREGEN_TICKET, chunkPos, 0, chunkPos);
+
+    // getChunkFuture would block the server thread until the chunk has been generated.
+    return chunkSource
+        .getChunkFutureMainThread(chunkPos.x, chunkPos.z, ChunkStatus.FULL, true)
+        .handleAsync(
+            (chunkResult, throwable) -> {
+              chunkSource.removeRegionTicket(PREGEN_TICKET, chunkPos, 0, chunkPos);
+              return throwable == null && chunkResult != null && chunkResult.isSuccess();
+            },
+            serverLevel.getServer());
+  }
+
+  private static void updateConcurrentChunks(final MinecraftServer minecraftServer) {
+    // Back off quickly when the server is slow and speed up slowly while it keeps up.
+    averageTickTime = minecraftServer.getAverageTickTimeNanos() / 1_000_000.0;
+    int targetTickTime = DimensionConfig.DIMENSION_PREGEN_TARGET_MSPT;
+    if (averageTickTime > targetTickTime) {
+      concurrentChunks = Math.max(1, concurrentChunks / 2);
+    } else if (averageTickTime < targetTickTime * 0.8) {
+      concurrentChunks =
+          Math.min(
+              Math.max(1, DimensionConfig.DIMENSION_PREGEN_MAX_CONCURRENT_CHUNKS),
+              concurrentChunks + 1);
+    }
+  }
+
+  private static ChunkPos getSpiralChunkPos(final ChunkPos center, final int index) {
+    if (index <= 0) {
+      return center;
+    }
+
+    // Ring k contains the 8 * k chunks with a Chebyshev distance of k to the center.
+    int ring = (int) Math.ceil((Math.sqrt(index + 1.0) - 1.0) / 2.0);
+    int sideLength = ring * 2;
+    int ringOffset = index - (sideLength - 1) * (sideLength - 1);
+    int side = ringOffset / sideLength;
+    int step = ringOffset % sideLength;
+    return switch (side) {
+      case 0 -> new ChunkPos(center.x + ring, center.z - ring + 1 + step);
+      case 1 -> new ChunkPos(center.x + ring - 1 - step, center.z + ring);
+      case 2 -> new ChunkPos(center.x - ring, center.z + ring - 1 - step);
+      default -> new ChunkPos(center.x - ring + 1 + step, center.z - ring);
+    };
+  }
+
+  public static String getStatus(final String dimensionName) {
+    DimensionInfoData dimensionInfo = DimensionManager.getDimensionInfoData(dimensionName);
+    PregenTask pregenTask =
+        dimensionInfo == null ? null : tasks.get(dimensionInfo.getDimensionKey());
+    if (pregenTask == null) {
+      return null;
+    }
+    int cursor = pregenTask.getCursor();
+    boolean queued = tasks.values().iterator().next() != pregenTask;
+    return String.format(
+        "%.1f%% (%d/%d chunks, radius %d)%s, %s",
+        cursor * 100.0 / pregenTask.totalChunks,
+        cursor,
+        pregenTask.totalChunks,
+        pregenTask.radius,
+        queued ? " queued" : "",
+        pregenTask.getRateSummary());
+  }
+
+  public static String getMetricsSummary() {
+    return String.format(
+        "tasks=%d, generated=%d, failed=%d, concurrent chunks=%d, mspt=%.1f (target %d)",
+        tasks.size(),
+        generatedChunks,
+        failedChunks,
+        concurrentChunks,
+        averageTickTime,
+        DimensionConfig.DIMENSION_PREGEN_TARGET_MSPT);
+  }
+
+  private static void saveProgress() {
+    if (!dirty || minecraftServer == null) {
+      return;
+    }
+    dirty = false;
+
+    ListTag taskListTag = new ListTag();
+    for (PregenTask pregenTask : tasks.values()) {
+      CompoundTag taskTag = new CompoundTag();
+      taskTag.putString(DIMENSION_TAG, pregenTask.levelKey.location().toString());
+      taskTag.putInt(CENTER_X_TAG, pregenTask.center.x);
+      taskTag.putInt(CENTER_Z_TAG, pregenTask.center.z);
+      taskTag.putInt(RADIUS_TAG, pregenTask.radius);
+      taskTag.putInt(CURSOR_TAG, pregenTask.getCursor());
+      taskListTag.add(taskTag);
+    }
+    CompoundTag compoundTag = new CompoundTag();
+    compoundTag.put(TASKS_TAG, taskListTag);
+
+    Path pregenFile = getPregenFile();
+    AsyncSavedData.submitWrite(
+        () -> {
+          try {
+            Files.createDirectories(pregenFile.getParent());
+            AsyncSavedData.writeCompressedAtomic(compoundTag, pregenFile);
+          } catch (IOException e) {
+            log.error("Failed to save pregeneration progress {}: {}", pregenFile, e.getMessage());
+          }
+        });
+  }
+
+  private static Path getPregenFile() {
+    return minecraftServer
+        .getWorldPath(LevelResource.ROOT)
+        .resolve("data")
+        .resolve(Constants.MOD_ID)
+        .resolve(PREGEN_FILE);
+  }
+
+  public static void close() {
+    saveProgress();
+  }
+
+  public static void clearAllCache() {
+    tasks.clear();
+    minecraftServer = null;
+    concurrentChunks = 1;
+    averageTickTime = 0.0;
+    dirty = false;
+    generatedChunks = 0;
+    failedChunks = 0;
+  }
+
+  private static final class PregenTask {
+    private final ResourceKey<Level> levelKey;
+    private final ChunkPos center;
+    private final int radius;
+    private final int totalChunks;
+    private final TreeSet<Integer> pendingIndices = new TreeSet<>();
+    private final long startTime = System.nanoTime();
+    private int nextIndex;
+    private long processedChunks = 0;
+    private ServerLevel serverLevel;
+
+    private PregenTask(
+        final ResourceKey<Level> levelKey,
+        final ChunkPos center,
+        final int radius,
+        final int cursor) {
+      this.levelKey = levelKey;
+      this.center = center;
+      this.radius = radius;
+      this.totalChunks = (radius * 2 + 1) * (radius * 2 + 1);
+      this.nextIndex = Math.min(Math.max(0, cursor), this.totalChunks);
+    }
+
+    // The oldest request which is still pending, every chunk before it has been generated.
+    private int getCursor() {
+      return this.pendingIndices.isEmpty() ? this.nextIndex : this.pendingIndices.first();
+    }
+
+    private boolean isDone() {
+      return this.nextIndex >= this.totalChunks && this.pendingIndices.isEmpty();
+    }
+
+    private String getRateSummary() {
+      double elapsedSeconds = (System.nanoTime() - this.startTime) / 1_000_000_000.0;
+      double chunksPerSecond = elapsedSeconds > 0 ? this.processedChunks / elapsedSeconds : 0.0;
+      long remainingChunks = this.totalChunks - getCursor();
+      return chunksPerSecond > 0
+          ? String.format(
+              "%.1f chunks/s, ETA %s",
+              chunksPerSecond, formatDuration((long) (remainingChunks / chunksPerSecond)))
+          : "0.0 chunks/s, ETA unknown";
+    }
+
+    private static String formatDuration(final long seconds) {
+      return seconds >= 3600
+          ? String.format("%dh %02dm", seconds / 3600, seconds % 3600 / 60)
+          : String.format("%dm %02ds", seconds / 60, seconds % 60);
+    }
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2025 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.worlddimensionnexus.dimension;
+
+import de.markusbordihn.worlddimensionnexus.Constants;
+import de.markusbordihn.worlddimensionnexus.data.dimension.DimensionInfoData;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.Level;
+
+public final class DimensionRegistry {
+
+  // Lookups read an immutable index snapshot, which is replaced as a whole on each change.
+  private volatile Index index = Index.EMPTY;
+
+  public DimensionInfoData get(final ResourceKey<Level> dimensionKey) {
+    return dimensionKey == null ? null : this.index.byKey().get(dimensionKey);
+  }
+
+  public DimensionInfoData get(final ResourceLocation location) {
+    return location == null ? null : this.index.byLocation().get(location);
+  }
+
+  public DimensionInfoData getByName(final String name) {
+    return name == null ? null : this.index.byName().get(name);
+  }
+
+  public DimensionInfoData getBySimpleName(final String simpleName) {
+    return simpleName == null ? null : this.index.bySimpleName().get(simpleName);
+  }
+
+  public boolean contains(final ResourceKey<Level> dimensionKey) {
+    return this.index.byKey().containsKey(dimensionKey);
+  }
+
+  public Collection<DimensionInfoData> getAll() {
+    return this.index.byKey().values();
+  }
+
+  public Collection<String> getSimpleNames() {
+    return this.index.bySimpleName().keySet();
+  }
+
+  public int size() {
+    return this.index.byKey().size();
+  }
+
+  public synchronized void put(final DimensionInfoData dimensionInfo) {
+    Map<ResourceKey<Level>, DimensionInfoData> dimensions = new HashMap<>(this.index.byKey());
+    dimensions.put(dimensionInfo.getDimensionKey(), dimensionInfo);
+    this.index = Index.of(dimensions.values());
+  }
+
+  public synchronized void replace(
+      final DimensionInfoData oldDimensionInfo, final DimensionInfoData newDimensionInfo) {
+    Map<ResourceKey<Level>, DimensionInfoData> dimensions = new HashMap<>(this.index.byKey());
+    dimensions.remove(oldDimensionInfo.getDimensionKey());
+    dimensions.put(newDimensionInfo.getDimensionKey(), newDimensionInfo);
+    this.index = Index.of(dimensions.values());
+  }
+
+  public synchronized boolean remove(final ResourceKey<Level> dimensionKey) {
+    if (!this.index.byKey().containsKey(dimensionKey)) {
+      return false;
+    }
+    Map<ResourceKey<Level>, DimensionInfoData> dimensions = new HashMap<>(this.index.byKey());
+    dimensions.remove(dimensionKey);
+    this.index = Index.of(dimensions.values());
+    return true;
+  }
+
+  public synchronized void clear() {
+    this.index = Index.EMPTY;
+  }
+
+  private record Index(
+      Map<ResourceKey<Level>, DimensionInfoData> byKey,
+      Map<ResourceLocation, DimensionInfoData> byLocation,
+      Map<String, DimensionInfoData> byName,
+      Map<String, DimensionInfoData> bySimpleName) {
+
+    private static final Index EMPTY = new Index(Map.of(), Map.of(), Map.of(), Map.of());
+
+    private static Index of(final Collection<DimensionInfoData> dimensions) {
+      Map<ResourceKey<Level>, DimensionInfoData> byKey = new HashMap<>();
+      Map<ResourceLocation, DimensionInfoData> byLocation = new HashMap<>();
+      Map<String, DimensionInfoData> byName = new HashMap<>();
+      Map<String, DimensionInfoData> bySimpleName = new HashMap<>();
+      for (DimensionInfoData dimensionInfo : dimensions) {
+        ResourceLocation location = dimensionInfo.getDimensionKey().location();
+        byKey.put(dimensionInfo.getDimensionKey(), dimensionInfo);
+        byLocation.put(location, dimensionInfo);
+        byName.put(location.toString(), dimensionInfo);
+        if (location.getNamespace().equals(Constants.MOD_ID)) {
+          bySimpleName.put(location.getPath(), dimensionInfo);
+        }
+      }
+      return new Index(
+          Map.copyOf(byKey), Map.copyOf(byLocation), Map.copyOf(byName), Map.copyOf(bySimpleName));
+    }
+  }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2025 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.worlddimensionnexus.dimension;
+
+import de.markusbordihn.worlddimensionnexus.Constants;
+import de.markusbordihn.worlddimensionnexus.data.dimension.DimensionInfoData;
+import de.markusbordihn.worlddimensionnexus.dimension.io.DimensionIOUtils;
+import de.markusbordihn.worlddimensionnexus.dimension.io.DimensionIOUtils.CloneMethod;
+import de.markusbordihn.worlddimensionnexus.teleport.TeleportManager;
+import de.markusbordihn.worlddimensionnexus.utils.ModLogger;
+import de.markusbordihn.worlddimensionnexus.utils.ModLogger.PrefixLogger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.storage.LevelResource;
+
+public class DimensionSnapshotManager {
+
+  private static final PrefixLogger log = ModLogger.getPrefixLogger("Dimension Snapshot Manager");
+
+  private static final String SNAPSHOTS_DIRECTORY = "snapshots";
+
+  private DimensionSnapshotManager() {}
+
+  public static CompletableFuture<Boolean> createSnapshot(
+      final MinecraftServer minecraftServer, final String dimensionName) {
+    DimensionInfoData dimensionInfo = DimensionManager.getDimensionInfoData(dimensionName);
+    if (minecraftServer == null || dimensionInfo == null) {
+      log.warn("Unable to create snapshot for unknown dimension {}.", dimensionName);
+      return CompletableFuture.completedFuture(false);
+    }
+
+    // Flush all chunks of an active dimension and pause its saves while its files are cloned.
+    ResourceKey<Level> levelKey = dimensionInfo.getDimensionKey();
+    ServerLevel serverLevel = minecraftServer.getLevel(levelKey);
+    boolean noSave = serverLevel != null && serverLevel.noSave;
+    if (serverLevel != null) {
+      serverLevel.save(null, true, false);
+      serverLevel.noSave = true;
+    }
+
+    Path dimensionFolder = DimensionIOUtils.getDimensionFolder(minecraftServer, levelKey);
+    Path snapshotFolder = getSnapshotFolder(minecraftServer, levelKey);
+    long startTime = System.nanoTime();
+    return DimensionIOUtils.runFolderTaskAsync(
+            () -> {
+              DimensionIOUtils.deleteDirectory(snapshotFolder);
+              CloneMethod cloneMethod =
+                  Files.exists(dimensionFolder)
+                      ? DimensionIOUtils.cloneDirectory(dimensionFolder, snapshotFolder)
+                      : null;
+              Files.createDirectories(snapshotFolder);
+              return cloneMethod;
+            })
+        .handleAsync(
+            (cloneMethod, throwable) -> {
+              if (serverLevel != null) {
+                serverLevel.noSave = noSave;
+              }
+              if (throwable != null) {
+                log.error(
+                    "Failed to create snapshot of dimension {}: {}",
+                    levelKey.location(),
+                    DimensionIOUtils.getErrorMessage(throwable));
+                return false;
+              }
+              log.info(
+                  "Created snapshot of dimension {} in {} ms ({}).",
+                  levelKey.location(),
+                  (System.nanoTime() - startTime) / 1_000_000,
+                  cloneMethod);
+              return true;
+            },
+            minecraftServer);
+  }
+
+  public static boolean hasSnapshot(
+      final MinecraftServer minecraftServer, final ResourceKey<Level> levelKey) {
+    return Files.isDirectory(getSnapshotFolder(minecraftServer, levelKey));
+  }
+
+  public static CompletableFuture<Boolean> resetDimension(
+      final MinecraftServer minecraftServer, final String dimensionName) {
+    DimensionInfoData dimensionInfo = DimensionManager.getDimensionInfoData(dimensionName);
+    if (minecraftServer == null || dimensionInfo == null) {
+      log.warn("Unable to reset unknown dimension {}.", dimensionName);
+      return CompletableFuture.completedFuture(false);
+    }
+    ResourceKey<Level> levelKey = dimensionInfo.getDimensionKey();
+    if (!hasSnapshot(minecraftServer, levelKey)) {
+      log.warn("No snapshot available for dimension {}.", levelKey.location());
+      return CompletableFuture.completedFuture(false);
+    }
+
+    // The dimension can not be activated or removed until the restore has completed.
+    if (!DimensionManager.lockDimension(levelKey)) {
+      log.warn("Dimension {} is already being reset.", levelKey.location());
+      return CompletableFuture.completedFuture(false);
+    }
+
+    // Evacuate and close the level, so no region file is open while it is restored.
+    long startTime = System.nanoTime();
+    List<ServerPlayer> evacuatedPlayers = List.of();
+    ServerLevel serverLevel = minecraftServer.getLevel(levelKey);
+    if (serverLevel != null) {
+      evacuatedPlayers = DimensionManager.evacuatePlayers(serverLevel);
+      if (!DimensionManager.closeLevel(serverLevel)) {
+        log.error("Unable to reset dimension {}, it could not be closed.", levelKey.location());
+        DimensionManager.releaseDimension(levelKey);
+        reactivateDimension(levelKey, evacuatedPlayers);
+        return CompletableFuture.completedFuture(false);
+      }
+      DimensionUnloadManager.forgetDimension(levelKey);
+    }
+
+    // The dimension and its players are brought back, even if the restore failed halfway.
+    List<ServerPlayer> playersToReturn = evacuatedPlayers;
+    Path snapshotFolder = getSnapshotFolder(minecraftServer, levelKey);
+    Path dimensionFolder = DimensionIOUtils.getDimensionFolder(minecraftServer, levelKey);
+    return DimensionIOUtils.runFolderTaskAsync(
+            () -> DimensionIOUtils.restoreDirectory(snapshotFolder, dimensionFolder))
+        .handleAsync(
+            (changedFiles, throwable) -> {
+              DimensionManager.releaseDimension(levelKey);
+              boolean reactivated = reactivateDimension(levelKey, playersToReturn);
+              if (throwable != null) {
+                log.error(
+                    "Failed to restore snapshot of dimension {}: {}",
+                    levelKey.location(),
+                    DimensionIOUtils.getErrorMessage(throwable));
+                return false;
+              }
+              if (!reactivated) {
+                return false;
+              }
+              log.info(
+                  "Reset dimension {} in {} ms, restored {} changed files.",
+                  levelKey.location(),
+                  (System.nanoTime() - startTime) / 1_000_000,
+                  changedFiles);
+              return true;
+            },
+            minecraftServer);
+  }
+
+  private static boolean reactivateDimension(
+      final ResourceKey<Level> levelKey, final List<ServerPlayer> evacuatedPlayers) {
+    if (DimensionManager.getOrActivateLevel(levelKey) == null) {
+      log.error(
+          "Failed to activate dimension {} after reset, {} players stay at their evacuation point.",
+          levelKey.location(),
+          evacuatedPlayers.size());
+      return false;
+    }
+    for (ServerPlayer serverPlayer : evacuatedPlayers) {
+      if (!serverPlayer.hasDisconnected()) {
+        TeleportManager.safeTeleportToDimension(serverPlayer, levelKey);
+      }
+    }
+    return true;
+  }
+
+  private static Path getSnapshotFolder(
+      final MinecraftServer minecraftServer, final ResourceKey<Level> levelKey) {
+    return minecraftServer
+        .getWorldPath(LevelResource.ROOT)
+        .resolve("data")
+        .resolve(Constants.MOD_ID)
+        .resolve(SNAPSHOTS_DIRECTORY)
+        .resolve(levelKey.location().getNamespace())
+        .resolve(levelKey.location().getPath());
+  }
+}
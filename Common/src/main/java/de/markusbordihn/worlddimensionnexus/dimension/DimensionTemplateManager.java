@@ -0,0 +1,226 @@
+/*
+ * Copyright 2025 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.worlddimensionnexus.dimension;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import de.markusbordihn.worlddimensionnexus.Constants;
+import de.markusbordihn.worlddimensionnexus.data.dimension.DimensionInfoData;
+import de.markusbordihn.worlddimensionnexus.dimension.io.DimensionIOUtils;
+import de.markusbordihn.worlddimensionnexus.dimension.io.DimensionIOUtils.CloneMethod;
+import de.markusbordihn.worlddimensionnexus.utils.ModLogger;
+import de.markusbordihn.worlddimensionnexus.utils.ModLogger.PrefixLogger;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.storage.LevelResource;
+
+public class DimensionTemplateManager {
+
+  private static final PrefixLogger log = ModLogger.getPrefixLogger("Dimension Template Manager");
+
+  private static final String TEMPLATES_DIRECTORY = "templates";
+  private static final String TEMPLATE_INFO_FILE = "dimension.json";
+  private static final String TEMPLATE_DATA_DIRECTORY = "dimension";
+  private static final Pattern TEMPLATE_NAME_PATTERN = Pattern.compile("[a-z0-9_-]+");
+
+  private DimensionTemplateManager() {}
+
+  public static CompletableFuture<Boolean> saveTemplate(
+      final MinecraftServer minecraftServer,
+      final String dimensionName,
+      final String templateName) {
+    DimensionInfoData dimensionInfo = DimensionManager.getDimensionInfoData(dimensionName);
+    if (minecraftServer == null || dimensionInfo == null || !isValidTemplateName(templateName)) {
+      log.warn("Unable to save template {} from dimension {}.", templateName, dimensionName);
+      return CompletableFuture.completedFuture(false);
+    }
+
+    // Flush all chunks of an active dimension and pause its saves while its files are cloned.
+    ServerLevel serverLevel = minecraftServer.getLevel(dimensionInfo.getDimensionKey());
+    boolean noSave = serverLevel != null && serverLevel.noSave;
+    if (serverLevel != null) {
+      serverLevel.save(null, true, false);
+      serverLevel.noSave = true;
+    }
+
+    Path dimensionFolder =
+        DimensionIOUtils.getDimensionFolder(minecraftServer, dimensionInfo.getDimensionKey());
+    Path templateFolder = getTemplateFolder(minecraftServer, templateName);
+    long startTime = System.nanoTime();
+    return DimensionIOUtils.runFolderTaskAsync(
+            () -> {
+              DimensionIOUtils.deleteDirectory(templateFolder);
+              Files.createDirectories(templateFolder);
+              CloneMethod cloneMethod =
+                  Files.exists(dimensionFolder)
+                      ? DimensionIOUtils.cloneDirectory(
+                          dimensionFolder, templateFolder.resolve(TEMPLATE_DATA_DIRECTORY))
+                      : null;
+              Files.writeString(
+                  templateFolder.resolve(TEMPLATE_INFO_FILE),
+                  dimensionInfo.toJson().toString(),
+                  StandardCharsets.UTF_8);
+              return cloneMethod;
+            })
+        .handleAsync(
+            (cloneMethod, throwable) -> {
+              if (serverLevel != null) {
+                serverLevel.noSave = noSave;
+              }
+              if (throwable != null) {
+                log.error(
+                    "Failed to save template {}: {}",
+                    templateName,
+                    DimensionIOUtils.getErrorMessage(throwable));
+                return false;
+              }
+              log.info(
+                  "Saved dimension {} as template {} in {} ms ({}).",
+                  dimensionInfo.getDimensionKey().location(),
+                  templateName,
+                  (System.nanoTime() - startTime) / 1_000_000,
+                  cloneMethod);
+              return true;
+            },
+            minecraftServer);
+  }
+
+  public static CompletableFuture<ServerLevel> createInstance(
+      final MinecraftServer minecraftServer,
+      final String templateName,
+      final String instanceName) {
+    if (minecraftServer == null || !isValidTemplateName(templateName) || instanceName == null) {
+      return CompletableFuture.completedFuture(null);
+    }
+    Path templateFolder = getTemplateFolder(minecraftServer, templateName);
+    DimensionInfoData templateInfo = readTemplateInfo(templateFolder);
+    if (templateInfo == null) {
+      log.warn("Template {} not found.", templateName);
+      return CompletableFuture.completedFuture(null);
+    }
+
+    // The name stays reserved until the cloned dimension was added on the server thread.
+    DimensionInfoData instanceInfo = templateInfo.withDimensionName(instanceName);
+    ResourceKey<Level> levelKey = instanceInfo.getDimensionKey();
+    if (!DimensionManager.reserveDimension(levelKey)) {
+      log.warn("Dimension {} already exists or is being created.", levelKey.location());
+      return CompletableFuture.completedFuture(null);
+    }
+
+    Path instanceFolder = DimensionIOUtils.getDimensionFolder(minecraftServer, levelKey);
+    Path templateDataFolder = templateFolder.resolve(TEMPLATE_DATA_DIRECTORY);
+    long startTime = System.nanoTime();
+    return DimensionIOUtils.runFolderTaskAsync(
+            () -> {
+              // Leftovers of a removed dimension with the same name would mix with the template.
+              DimensionIOUtils.deleteDirectory(instanceFolder);
+              return Files.isDirectory(templateDataFolder)
+                  ? DimensionIOUtils.cloneDirectory(templateDataFolder, instanceFolder)
+                  : null;
+            })
+        .handleAsync(
+            (cloneMethod, throwable) -> {
+              DimensionManager.releaseDimension(levelKey);
+              if (throwable != null) {
+                log.error(
+                    "Failed to clone template {}: {}",
+                    templateName,
+                    DimensionIOUtils.getErrorMessage(throwable));
+                return null;
+              }
+              ServerLevel serverLevel;
+              try {
+                serverLevel = DimensionManager.addOrCreateDimension(instanceInfo, true);
+              } catch (Exception e) {
+                log.error("Failed to create dimension {}:", levelKey.location(), e);
+                return null;
+              }
+              log.info(
+                  "Created dimension {} from template {} in {} ms ({}).",
+                  levelKey.location(),
+                  templateName,
+                  (System.nanoTime() - startTime) / 1_000_000,
+                  cloneMethod);
+              return serverLevel;
+            },
+            minecraftServer);
+  }
+
+  public static List<String> getTemplateNames(final MinecraftServer minecraftServer) {
+    Path templatesFolder = getTemplatesFolder(minecraftServer);
+    if (!Files.isDirectory(templatesFolder)) {
+      return List.of();
+    }
+    try (Stream<Path> files = Files.list(templatesFolder)) {
+      return files
+          .filter(path -> Files.exists(path.resolve(TEMPLATE_INFO_FILE)))
+          .map(path -> path.getFileName().toString())
+          .sorted()
+          .toList();
+    } catch (IOException e) {
+      log.error("Failed to list templates: {}", e.getMessage());
+      return List.of();
+    }
+  }
+
+  private static boolean isValidTemplateName(final String templateName) {
+    return templateName != null && TEMPLATE_NAME_PATTERN.matcher(templateName).matches();
+  }
+
+  private static DimensionInfoData readTemplateInfo(final Path templateFolder) {
+    Path infoFile = templateFolder.resolve(TEMPLATE_INFO_FILE);
+    if (!Files.exists(infoFile)) {
+      return null;
+    }
+    try (Reader reader = Files.newBufferedReader(infoFile)) {
+      JsonElement jsonElement = JsonParser.parseReader(reader);
+      return jsonElement.isJsonObject()
+          ? DimensionInfoData.fromJson(jsonElement.getAsJsonObject())
+          : null;
+    } catch (Exception e) {
+      log.error("Failed to read template info {}: {}", infoFile, e.getMessage());
+      return null;
+    }
+  }
+
+  private static Path getTemplateFolder(
+      final MinecraftServer minecraftServer, final String templateName) {
+    return getTemplatesFolder(minecraftServer).resolve(templateName);
+  }
+
+  private static Path getTemplatesFolder(final MinecraftServer minecraftServer) {
+    return minecraftServer
+        .getWorldPath(LevelResource.ROOT)
+        .resolve("data")
+        .resolve(Constants.MOD_ID)
+        .resolve(TEMPLATES_DIRECTORY);
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2025 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.worlddimensionnexus.dimension;
+
+import de.markusbordihn.worlddimensionnexus.config.DimensionConfig;
+import de.markusbordihn.worlddimensionnexus.data.dimension.DimensionInfoData;
+import de.markusbordihn.worlddimensionnexus.utils.ModLogger;
+import de.markusbordihn.worlddimensionnexus.utils.ModLogger.PrefixLogger;
+import java.util.HashMap;
+import java.util.Map;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.level.Level;
+
+public class DimensionUnloadManager {
+
+  private static final PrefixLogger log = ModLogger.getPrefixLogger("Dimension Unload Manager");
+
+  private static final Map<ResourceKey<Level>, Integer> idleSince = new HashMap<>();
+
+  private static int lastProcessedTick = -1;
+  private static long unloadedDimensions = 0;
+  private static long releasedChunks = 0;
+  private static long releasedEntities = 0;
+  private static long skippedLevelTicks = 0;
+
+  private DimensionUnloadManager() {}
+
+  public static void processIdleDimensions(final MinecraftServer minecraftServer) {
+    if (minecraftServer == null) {
+      return;
+    }
+    int currentTick = minecraftServer.getTickCount();
+    int elapsedTicks = lastProcessedTick < 0 ? 0 : currentTick - lastProcessedTick;
+    lastProcessedTick = currentTick;
+
+    int unloadDelayTicks = DimensionConfig.IDLE_DIMENSION_UNLOAD_DELAY * 20;
+    for (DimensionInfoData dimensionInfo : DimensionManager.getDimensionInfoList()) {
+      ResourceKey<Level> levelKey = dimensionInfo.getDimensionKey();
+      ServerLevel serverLevel = minecraftServer.getLevel(levelKey);
+      if (serverLevel == null) {
+        // Inactive dimensions are not ticked at all.
+        idleSince.remove(levelKey);
+        skippedLevelTicks += elapsedTicks;
+        continue;
+      }
+      if (!DimensionConfig.IDLE_DIMENSION_UNLOAD || !isIdle(minecraftServer, serverLevel)) {
+        idleSince.remove(levelKey);
+        continue;
+      }
+
+      int idleStartTick = idleSince.computeIfAbsent(levelKey, key -> currentTick);
+      if (currentTick - idleStartTick >= unloadDelayTicks) {
+        unloadIdleDimension(serverLevel);
+      }
+    }
+  }
+
+  private static boolean isIdle(
+      final MinecraftServer minecraftServer, final ServerLevel serverLevel) {
+    return serverLevel.players().isEmpty()
+        && serverLevel.getForcedChunks().isEmpty()
+        && !DimensionPregenManager.isPregenerating(serverLevel.dimension())
+        && !isRespawnDimension(minecraftServer, serverLevel.dimension());
+  }
+
+  private static boolean isRespawnDimension(
+      final MinecraftServer minecraftServer, final ResourceKey<Level> levelKey) {
+    // Vanilla respawn resolution uses getLevel() and would drop the bed or anchor spawn point.
+    for (ServerPlayer serverPlayer : minecraftServer.getPlayerList().getPlayers()) {
+      if (serverPlayer.getRespawnPosition() != null
+          && levelKey.equals(serverPlayer.getRespawnDimension())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static void unloadIdleDimension(final ServerLevel serverLevel) {
+    ResourceKey<Level> levelKey = serverLevel.dimension();
+    int loadedChunks = serverLevel.getChunkSource().getLoadedChunksCount();
+    int loadedEntities = 0;
+    for (Entity ignored : serverLevel.getAllEntities()) {
+      loadedEntities++;
+    }
+
+    idleSince.remove(levelKey);
+    if (DimensionManager.unloadDimension(levelKey)) {
+      unloadedDimensions++;
+      releasedChunks += loadedChunks;
+      releasedEntities += loadedEntities;
+      log.info(
+          "Unloaded idle dimension {} and released {} chunks and {} entities.",
+          levelKey.location(),
+          loadedChunks,
+          loadedEntities);
+    }
+  }
+
+  public static void forgetDimension(final ResourceKey<Level> levelKey) {
+    idleSince.remove(levelKey);
+  }
+
+  public static String getMetricsSummary() {
+    return String.format(
+        "unloaded=%d, released chunks=%d, released entities=%d, skipped level ticks=%d, idle=%d",
+        unloadedDimensions, releasedChunks, releasedEntities, skippedLevelTicks, idleSince.size());
+  }
+
+  public static void clearAllCache() {
+    idleSince.clear();
+    lastProcessedTick = -1;
+    unloadedDimensions = 0;
+    releasedChunks = 0;
+    releasedEntities = 0;
+    skippedLevelTicks = 0;
+  }
+}
@@ -19,10 +19,201 @@
 
 package de.markusbordihn.worlddimensionnexus.dimension.io;
 
+import de.markusbordihn.worlddimensionnexus.utils.ModLogger;
+import de.markusbordihn.worlddimensionnexus.utils.ModLogger.PrefixLogger;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.dimension.DimensionType;
+import net.minecraft.world.level.storage.LevelResource;
 
 public class DimensionIOUtils {
 
+  private static final PrefixLogger log = ModLogger.getPrefixLogger("Dimension IO Utils");
+  private static final String OS_NAME = System.getProperty("os.name", "").toLowerCase();
+
+  // Clones, restores and deletes of dimension folders share a single thread off the server thread.
+  private static final ExecutorService folderExecutor =
+      Executors.newSingleThreadExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "World Dimension Nexus Dimension Folder IO");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  public enum CloneMethod {
+    REFLINK,
+    COPY
+  }
+
+  @FunctionalInterface
+  public interface FolderTask<T> {
+    T run() throws IOException;
+  }
+
+  public static <T> CompletableFuture<T> runFolderTaskAsync(final FolderTask<T> folderTask) {
+    return CompletableFuture.supplyAsync(
+        () -> {
+          try {
+            return folderTask.run();
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        },
+        folderExecutor);
+  }
+
+  public static String getErrorMessage(final Throwable throwable) {
+    Throwable cause = throwable;
+    while (cause.getCause() != null) {
+      cause = cause.getCause();
+    }
+    return cause.getMessage();
+  }
+
+  public static Path getDimensionFolder(
+      final MinecraftServer minecraftServer, final ResourceKey<Level> levelKey) {
+    return DimensionType.getStorageFolder(
+        levelKey, minecraftServer.getWorldPath(LevelResource.ROOT));
+  }
+
+  public static CloneMethod cloneDirectory(final Path source, final Path target)
+      throws IOException {
+    Files.createDirectories(target);
+
+    // Copy-on-write clones share the data blocks until one side changes, so they are instant.
+    // Hard links are not used, because region files are modified in place.
+    if (tryReflinkDirectory(source, target)) {
+      return CloneMethod.REFLINK;
+    }
+
+    deleteDirectory(target);
+    Files.createDirectories(target);
+    copyDirectory(source, target);
+    return CloneMethod.COPY;
+  }
+
+  private static boolean tryReflinkDirectory(final Path source, final Path target) {
+    List<String> command;
+    if (OS_NAME.contains("linux")) {
+      command =
+          List.of(
+              "cp",
+              "-R",
+              "--preserve=timestamps",
+              "--reflink=always",
+              source + "/.",
+              target.toString());
+    } else if (OS_NAME.contains("mac")) {
+      command = List.of("cp", "-R", "-p", "-c", source + "/.", target.toString());
+    } else {
+      return false;
+    }
+
+    try {
+      Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+      process.getInputStream().transferTo(OutputStream.nullOutputStream());
+      return process.waitFor() == 0;
+    } catch (IOException e) {
+      log.debug("Unable to reflink {}: {}", source, e.getMessage());
+      return false;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private static void copyDirectory(final Path source, final Path target) throws IOException {
+    List<Path> paths;
+    try (Stream<Path> files = Files.walk(source)) {
+      paths = files.toList();
+    }
+    for (Path path : paths) {
+      Path targetPath = target.resolve(source.relativize(path).toString());
+      if (Files.isDirectory(path)) {
+        Files.createDirectories(targetPath);
+      } else {
+        Files.copy(
+            path,
+            targetPath,
+            StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.COPY_ATTRIBUTES);
+      }
+    }
+  }
+
+  public static int restoreDirectory(final Path source, final Path target) throws IOException {
+    Files.createDirectories(target);
+    int changedFiles = 0;
+
+    // Remove files which were created after the snapshot.
+    List<Path> targetPaths;
+    try (Stream<Path> files = Files.walk(target)) {
+      targetPaths = files.sorted(Comparator.reverseOrder()).toList();
+    }
+    for (Path targetPath : targetPaths) {
+      Path sourcePath = source.resolve(target.relativize(targetPath).toString());
+      if (!targetPath.equals(target) && !Files.exists(sourcePath)) {
+        Files.delete(targetPath);
+        changedFiles++;
+      }
+    }
+
+    // Only files which differ in size or modification time are copied back.
+    List<Path> sourcePaths;
+    try (Stream<Path> files = Files.walk(source)) {
+      sourcePaths = files.toList();
+    }
+    for (Path sourcePath : sourcePaths) {
+      Path targetPath = target.resolve(source.relativize(sourcePath).toString());
+      if (Files.isDirectory(sourcePath)) {
+        Files.createDirectories(targetPath);
+      } else if (!isSameFile(sourcePath, targetPath)) {
+        Files.copy(
+            sourcePath,
+            targetPath,
+            StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.COPY_ATTRIBUTES);
+        changedFiles++;
+      }
+    }
+    return changedFiles;
+  }
+
+  // Quick check on size and modification time only, the content is never compared. Snapshot copies
+  // keep their modification time, but a change that keeps the size and happens within the
+  // timestamp resolution of the file system, or resets the modification time, is not detected.
+  private static boolean isSameFile(final Path source, final Path target) throws IOException {
+    return Files.isRegularFile(target)
+        && Files.size(source) == Files.size(target)
+        && Files.getLastModifiedTime(source).equals(Files.getLastModifiedTime(target));
+  }
+
+  public static void deleteDirectory(final Path directory) throws IOException {
+    if (!Files.exists(directory)) {
+      return;
+    }
+    List<Path> paths;
+    try (Stream<Path> files = Files.walk(directory)) {
+      paths = files.sorted(Comparator.reverseOrder()).toList();
+    }
+    for (Path path : paths) {
+      Files.delete(path);
+    }
+  }
+
   public static boolean shouldSkipFile(final Path relativePath) {
     String relName = relativePath.toString().replace("\\", "/").toLowerCase();
 
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2025 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.worlddimensionnexus.levelgen;
+
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.ChunkAccess;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.levelgen.Heightmap;
+
+public final class ChunkBlockWriter {
+
+  private final ChunkAccess chunk;
+  private final Heightmap oceanFloorHeightmap;
+  private final Heightmap worldSurfaceHeightmap;
+
+  public ChunkBlockWriter(final ChunkAccess chunk) {
+    this.chunk = chunk;
+    this.oceanFloorHeightmap =
+        chunk.getOrCreateHeightmapUnprimed(Heightmap.Types.OCEAN_FLOOR_WG);
+    this.worldSurfaceHeightmap =
+        chunk.getOrCreateHeightmapUnprimed(Heightmap.Types.WORLD_SURFACE_WG);
+  }
+
+  public void setBlock(
+      final int localX, final int y, final int localZ, final BlockState blockState) {
+    fillColumn(localX, localZ, y, y, blockState);
+  }
+
+  public void fillColumn(
+      final int localX,
+      final int localZ,
+      final int fromY,
+      final int toY,
+      final BlockState blockState) {
+    int minY = Math.max(fromY, this.chunk.getMinBuildHeight());
+    int maxY = Math.min(toY, this.chunk.getMaxBuildHeight() - 1);
+    if (minY > maxY) {
+      return;
+    }
+
+    // Write the run section by section directly into the block palettes.
+    int y = minY;
+    while (y <= maxY) {
+      LevelChunkSection section = this.chunk.getSection(this.chunk.getSectionIndex(y));
+      int sectionMaxY =
+          Math.min(maxY, SectionPos.sectionToBlockCoord(SectionPos.blockToSectionCoord(y)) + 15);
+      for (; y <= sectionMaxY; y++) {
+        section.setBlockState(localX, y & 15, localZ, blockState, false);
+      }
+    }
+
+    updateHeightmap(
+        this.oceanFloorHeightmap,
+        Heightmap.Types.OCEAN_FLOOR_WG,
+        localX,
+        localZ,
+        minY,
+        maxY,
+        blockState);
+    updateHeightmap(
+        this.worldSurfaceHeightmap,
+        Heightmap.Types.WORLD_SURFACE_WG,
+        localX,
+        localZ,
+        minY,
+        maxY,
+        blockState);
+  }
+
+  private static void updateHeightmap(
+      final Heightmap heightmap,
+      final Heightmap.Types heightmapType,
+      final int localX,
+      final int localZ,
+      final int minY,
+      final int maxY,
+      final BlockState blockState) {
+    // Only the top block of a solid run can raise the heightmap.
+    if (heightmapType.isOpaque().test(blockState)) {
+      heightmap.update(localX, maxY, localZ, blockState);
+      return;
+    }
+    for (int y = maxY; y >= minY; y--) {
+      heightmap.update(localX, y, localZ, blockState);
+    }
+  }
+}
@@ -33,11 +33,13 @@ import net.minecraft.core.registries.Registries;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.level.NoiseColumn;
 import net.minecraft.world.level.biome.Biome;
 import net.minecraft.world.level.biome.BiomeSource;
 import net.minecraft.world.level.biome.Biomes;
 import net.minecraft.world.level.biome.FixedBiomeSource;
 import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.chunk.ChunkGenerator;
 import net.minecraft.world.level.levelgen.DebugLevelSource;
 import net.minecraft.world.level.levelgen.FlatLevelSource;
@@ -51,6 +53,9 @@ import net.minecraft.world.level.levelgen.structure.StructureSet;
 
 public class ChunkGeneratorHelper {
 
+  // Blocks outside a noise column are reported as air, so an empty column fits every level.
+  public static final NoiseColumn EMPTY_NOISE_COLUMN = new NoiseColumn(0, new BlockState[0]);
+
   private static final PrefixLogger log = ModLogger.getPrefixLogger("Chunk Generator Helper");
 
   private ChunkGeneratorHelper() {}
@@ -20,12 +20,19 @@
 package de.markusbordihn.worlddimensionnexus.levelgen;
 
 import com.mojang.serialization.MapCodec;
+import de.markusbordihn.worlddimensionnexus.Constants;
 import de.markusbordihn.worlddimensionnexus.config.FloatingIslandsChunkGeneratorConfig;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.HolderGetter;
 import net.minecraft.core.RegistryAccess;
+import net.minecraft.core.SectionPos;
+import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.WorldGenRegion;
 import net.minecraft.util.Mth;
 import net.minecraft.util.RandomSource;
@@ -58,10 +65,23 @@ public class FloatingIslandsChunkGenerator extends ChunkGenerator {
                 "FloatingIslandsChunkGenerator codec not supported");
           });
 
+  private static final int CHUNK_SIZE = 16;
+  private static final int COLUMNS_PER_CHUNK = CHUNK_SIZE * CHUNK_SIZE;
+  private static final int COLUMN_CACHE_STRIPES = 16;
+  private static final ResourceLocation VEGETATION_RANDOM_KEY =
+      ResourceLocation.fromNamespaceAndPath(Constants.MOD_ID, "floating_islands_vegetation");
+
+  private static final AtomicLong generatedChunks = new AtomicLong();
+  private static final AtomicLong generationNanos = new AtomicLong();
+  private static final AtomicLong columnCacheHits = new AtomicLong();
+  private static final AtomicLong columnCacheMisses = new AtomicLong();
+
   private final PerlinSimplexNoise islandNoise;
   private final PerlinSimplexNoise heightNoise;
   private final PerlinSimplexNoise detailNoise;
-  private final RandomSource vegetationRandom;
+
+  // Island columns of recently used chunks, shared by chunk generation and height queries.
+  private final IslandColumnCache columnCache = new IslandColumnCache();
 
   public FloatingIslandsChunkGenerator(final HolderGetter<Biome> biomeGetter) {
     super(new FixedBiomeSource(biomeGetter.getOrThrow(Biomes.END_HIGHLANDS)));
@@ -78,7 +98,6 @@ public class FloatingIslandsChunkGenerator extends ChunkGenerator {
         new PerlinSimplexNoise(
             RandomSource.create(FloatingIslandsChunkGeneratorConfig.DETAIL_NOISE_SEED),
             List.of(-1, 0, 1, 2));
-    this.vegetationRandom = RandomSource.create(12345L);
   }
 
   @Override
@@ -150,21 +169,188 @@ public class FloatingIslandsChunkGenerator extends ChunkGenerator {
       final StructureManager structureManager,
       final ChunkAccess chunk) {
 
+    long startTime = System.nanoTime();
     ChunkPos chunkPos = chunk.getPos();
+    IslandColumns islandColumns = getIslandColumns(chunkPos.x, chunkPos.z);
+
+    // Each chunk uses its own random derived from the world seed and the chunk position, so the
+    // result does not depend on the order or thread in which chunks are generated.
+    RandomSource vegetationRandom =
+        randomState
+            .getOrCreateRandomFactory(VEGETATION_RANDOM_KEY)
+            .at(chunkPos.getMinBlockX(), 0, chunkPos.getMinBlockZ());
+
+    ChunkBlockWriter chunkBlockWriter = new ChunkBlockWriter(chunk);
+    for (int localX = 0; localX < CHUNK_SIZE; localX++) {
+      for (int localZ = 0; localZ < CHUNK_SIZE; localZ++) {
+        int index = getColumnIndex(localX, localZ);
+        if (islandColumns.isIsland[index]) {
+          generateIslandColumn(
+              chunkBlockWriter,
+              vegetationRandom,
+              localX,
+              localZ,
+              islandColumns.topY[index],
+              Math.max(
+                  islandColumns.centerHeight[index] - islandColumns.thickness[index], getMinY()));
+        }
+      }
+    }
+
+    generatedChunks.incrementAndGet();
+    generationNanos.addAndGet(System.nanoTime() - startTime);
+    return CompletableFuture.completedFuture(chunk);
+  }
+
+  private IslandColumns getIslandColumns(final int chunkX, final int chunkZ) {
+    if (!FloatingIslandsChunkGeneratorConfig.ENABLE_HEIGHT_CACHING) {
+      return computeIslandColumns(chunkX, chunkZ);
+    }
 
-    for (int localX = 0; localX < 16; localX++) {
-      for (int localZ = 0; localZ < 16; localZ++) {
-        int worldX = chunkPos.getMinBlockX() + localX;
-        int worldZ = chunkPos.getMinBlockZ() + localZ;
+    long chunkKey = ChunkPos.asLong(chunkX, chunkZ);
+    IslandColumns islandColumns = this.columnCache.get(chunkKey);
+    if (islandColumns != null) {
+      columnCacheHits.incrementAndGet();
+      return islandColumns;
+    }
+    columnCacheMisses.incrementAndGet();
+    islandColumns = computeIslandColumns(chunkX, chunkZ);
+    this.columnCache.put(chunkKey, islandColumns);
+    return islandColumns;
+  }
+
+  IslandColumns computeIslandColumns(final int chunkX, final int chunkZ) {
+    int gridSize = getNoiseGridSize();
+    int gridPoints = CHUNK_SIZE / gridSize + 1;
+    int minX = SectionPos.sectionToBlockCoord(chunkX);
+    int minZ = SectionPos.sectionToBlockCoord(chunkZ);
+    double noiseScale = FloatingIslandsChunkGeneratorConfig.NOISE_SCALE;
 
-        generateColumnAt(chunk, localX, localZ, worldX, worldZ);
+    // The cluster wave and the spacing offsets are separable in x and z, so they are computed
+    // once per grid row and column instead of once per sample.
+    double[] clusterWaveX = new double[gridPoints];
+    double[] clusterWaveZ = new double[gridPoints];
+    for (int gridIndex = 0; gridIndex < gridPoints; gridIndex++) {
+      clusterWaveX[gridIndex] = getClusterWave(minX + gridIndex * gridSize);
+      clusterWaveZ[gridIndex] = getClusterWave(minZ + gridIndex * gridSize);
+    }
+    double[] spacingOffsetX = new double[CHUNK_SIZE];
+    double[] spacingOffsetZ = new double[CHUNK_SIZE];
+    for (int localIndex = 0; localIndex < CHUNK_SIZE; localIndex++) {
+      spacingOffsetX[localIndex] = getSpacingOffsetSquared(minX + localIndex);
+      spacingOffsetZ[localIndex] = getSpacingOffsetSquared(minZ + localIndex);
+    }
+
+    // Sample the noise on a coarse grid, the columns in between are interpolated.
+    double[] densityGrid = new double[gridPoints * gridPoints];
+    double[] heightGrid = new double[gridPoints * gridPoints];
+    double[] detailGrid = new double[gridPoints * gridPoints];
+    for (int gridZ = 0; gridZ < gridPoints; gridZ++) {
+      for (int gridX = 0; gridX < gridPoints; gridX++) {
+        int x = minX + gridX * gridSize;
+        int z = minZ + gridZ * gridSize;
+        int gridIndex = gridZ * gridPoints + gridX;
+        densityGrid[gridIndex] =
+            getIslandDensityAt(x, z, clusterWaveX[gridX] * clusterWaveZ[gridZ]);
+        heightGrid[gridIndex] = getHeightNoiseAt(x, z);
+        detailGrid[gridIndex] =
+            this.detailNoise.getValue(x * noiseScale * 8, z * noiseScale * 8, false);
       }
     }
 
-    return CompletableFuture.completedFuture(chunk);
+    IslandColumns islandColumns = new IslandColumns();
+    for (int localZ = 0; localZ < CHUNK_SIZE; localZ++) {
+      for (int localX = 0; localX < CHUNK_SIZE; localX++) {
+        int gridIndex = (localZ / gridSize) * gridPoints + localX / gridSize;
+        double deltaX = (localX % gridSize) / (double) gridSize;
+        double deltaZ = (localZ % gridSize) / (double) gridSize;
+        double density = interpolate(densityGrid, gridIndex, gridPoints, deltaX, deltaZ);
+        if (density <= FloatingIslandsChunkGeneratorConfig.ISLAND_DENSITY) {
+          continue;
+        }
+
+        int index = getColumnIndex(localX, localZ);
+        int centerHeight =
+            getIslandHeight(interpolate(heightGrid, gridIndex, gridPoints, deltaX, deltaZ));
+        double surfaceVariation = interpolate(detailGrid, gridIndex, gridPoints, deltaX, deltaZ);
+        int heightVariation =
+            (int) (surfaceVariation * FloatingIslandsChunkGeneratorConfig.HEIGHT_VARIATION_RANGE);
+        islandColumns.isIsland[index] = true;
+        islandColumns.centerHeight[index] = centerHeight;
+        islandColumns.thickness[index] =
+            getIslandThickness(spacingOffsetX[localX] + spacingOffsetZ[localZ]);
+        islandColumns.topY[index] = centerHeight + heightVariation;
+      }
+    }
+    return islandColumns;
+  }
+
+  private IslandColumn computeIslandColumn(final int x, final int z) {
+    // Samples the same grid cell as computeIslandColumns, so both return the same column.
+    int gridSize = getNoiseGridSize();
+    int gridX = x & -gridSize;
+    int gridZ = z & -gridSize;
+    double deltaX = (x - gridX) / (double) gridSize;
+    double deltaZ = (z - gridZ) / (double) gridSize;
+    double density =
+        gridSize == 1
+            ? getIslandDensityAt(x, z)
+            : Mth.lerp2(
+                deltaX,
+                deltaZ,
+                getIslandDensityAt(gridX, gridZ),
+                getIslandDensityAt(gridX + gridSize, gridZ),
+                getIslandDensityAt(gridX, gridZ + gridSize),
+                getIslandDensityAt(gridX + gridSize, gridZ + gridSize));
+    if (density <= FloatingIslandsChunkGeneratorConfig.ISLAND_DENSITY) {
+      return null;
+    }
+
+    double heightNoise =
+        gridSize == 1
+            ? getHeightNoiseAt(x, z)
+            : Mth.lerp2(
+                deltaX,
+                deltaZ,
+                getHeightNoiseAt(gridX, gridZ),
+                getHeightNoiseAt(gridX + gridSize, gridZ),
+                getHeightNoiseAt(gridX, gridZ + gridSize),
+                getHeightNoiseAt(gridX + gridSize, gridZ + gridSize));
+    return new IslandColumn(
+        getIslandHeight(heightNoise),
+        getIslandThickness(getSpacingOffsetSquared(x) + getSpacingOffsetSquared(z)));
+  }
+
+  private static double interpolate(
+      final double[] grid,
+      final int gridIndex,
+      final int gridPoints,
+      final double deltaX,
+      final double deltaZ) {
+    return Mth.lerp2(
+        deltaX,
+        deltaZ,
+        grid[gridIndex],
+        grid[gridIndex + 1],
+        grid[gridIndex + gridPoints],
+        grid[gridIndex + gridPoints + 1]);
+  }
+
+  private static int getNoiseGridSize() {
+    // Only powers of two up to the chunk size align the grid with the chunk borders.
+    return Integer.highestOneBit(
+        Mth.clamp(FloatingIslandsChunkGeneratorConfig.NOISE_GRID_SIZE, 1, CHUNK_SIZE));
+  }
+
+  private static int getColumnIndex(final int localX, final int localZ) {
+    return (localZ << 4) | localX;
   }
 
   private double getIslandDensityAt(final int x, final int z) {
+    return getIslandDensityAt(x, z, getClusterWave(x) * getClusterWave(z));
+  }
+
+  private double getIslandDensityAt(final int x, final int z, final double clusterNoise) {
     double noiseScale = FloatingIslandsChunkGeneratorConfig.NOISE_SCALE;
 
     double density = 0.0;
@@ -172,19 +358,17 @@ public class FloatingIslandsChunkGenerator extends ChunkGenerator {
     density += islandNoise.getValue(x * noiseScale * 2, z * noiseScale * 2, false) * 0.3;
     density += islandNoise.getValue(x * noiseScale * 4, z * noiseScale * 4, false) * 0.2;
 
-    int islandSpacing = FloatingIslandsChunkGeneratorConfig.ISLAND_SPACING;
-    double clusterNoise =
-        Math.sin(x * Math.PI / islandSpacing) * Math.sin(z * Math.PI / islandSpacing);
     density += clusterNoise * 0.4;
 
     return Mth.clamp(density, -1.0, 1.0);
   }
 
-  private int getIslandHeightAt(final int x, final int z) {
+  private double getHeightNoiseAt(final int x, final int z) {
     double noiseScale = FloatingIslandsChunkGeneratorConfig.NOISE_SCALE;
-    double heightVariation =
-        this.heightNoise.getValue(x * noiseScale * 0.5, z * noiseScale * 0.5, false);
+    return this.heightNoise.getValue(x * noiseScale * 0.5, z * noiseScale * 0.5, false);
+  }
 
+  private int getIslandHeight(final double heightVariation) {
     int minHeight = FloatingIslandsChunkGeneratorConfig.MIN_ISLAND_HEIGHT;
     int maxHeight = FloatingIslandsChunkGeneratorConfig.MAX_ISLAND_HEIGHT;
 
@@ -192,16 +376,21 @@ public class FloatingIslandsChunkGenerator extends ChunkGenerator {
     return Mth.clamp(height, minHeight, maxHeight);
   }
 
-  private int getIslandThicknessAt(final int x, final int z) {
+  private static double getClusterWave(final int coordinate) {
+    return Math.sin(coordinate * Math.PI / FloatingIslandsChunkGeneratorConfig.ISLAND_SPACING);
+  }
+
+  private static double getSpacingOffsetSquared(final int coordinate) {
     int islandSpacing = FloatingIslandsChunkGeneratorConfig.ISLAND_SPACING;
-    double radiusMultiplier = FloatingIslandsChunkGeneratorConfig.ISLAND_RADIUS_MULTIPLIER;
+    double offset = coordinate % islandSpacing - islandSpacing / 2.0;
+    return offset * offset;
+  }
 
-    double distance =
-        Math.sqrt(
-            (x % islandSpacing - islandSpacing / 2.0) * (x % islandSpacing - islandSpacing / 2.0)
-                + (z % islandSpacing - islandSpacing / 2.0)
-                    * (z % islandSpacing - islandSpacing / 2.0));
+  private int getIslandThickness(final double distanceSquared) {
+    int islandSpacing = FloatingIslandsChunkGeneratorConfig.ISLAND_SPACING;
+    double radiusMultiplier = FloatingIslandsChunkGeneratorConfig.ISLAND_RADIUS_MULTIPLIER;
 
+    double distance = Math.sqrt(distanceSquared);
     double maxRadius = islandSpacing * radiusMultiplier;
     double thickness =
         Math.max(
@@ -213,52 +402,30 @@ public class FloatingIslandsChunkGenerator extends ChunkGenerator {
     return (int) Math.max(FloatingIslandsChunkGeneratorConfig.MIN_ISLAND_THICKNESS, thickness);
   }
 
-  private void generateColumnAt(
-      final ChunkAccess chunk,
+  private void generateIslandColumn(
+      final ChunkBlockWriter chunkBlockWriter,
+      final RandomSource vegetationRandom,
       final int localX,
       final int localZ,
-      final int worldX,
-      final int worldZ) {
-    double islandDensity = getIslandDensityAt(worldX, worldZ);
-
-    if (islandDensity > FloatingIslandsChunkGeneratorConfig.ISLAND_DENSITY) {
-      int islandHeight = getIslandHeightAt(worldX, worldZ);
-      generateIslandColumn(
-          chunk,
+      final int topY,
+      final int bottomY) {
+    // Write each layer as one vertical run, matching getBlockStateForIslandLayer.
+    if (bottomY <= topY) {
+      chunkBlockWriter.fillColumn(
           localX,
           localZ,
-          worldX,
-          worldZ,
-          islandHeight,
-          getIslandThicknessAt(worldX, worldZ));
-    }
-  }
-
-  private void generateIslandColumn(
-      final ChunkAccess chunk,
-      final int localX,
-      final int localZ,
-      final int worldX,
-      final int worldZ,
-      final int centerHeight,
-      final int thickness) {
-
-    double noiseScale = FloatingIslandsChunkGeneratorConfig.NOISE_SCALE;
-    double surfaceVariation =
-        this.detailNoise.getValue(worldX * noiseScale * 8, worldZ * noiseScale * 8, false);
-    int heightVariation =
-        (int) (surfaceVariation * FloatingIslandsChunkGeneratorConfig.HEIGHT_VARIATION_RANGE);
-
-    int topY = centerHeight + heightVariation;
-    int bottomY = Math.max(centerHeight - thickness, getMinY());
-
-    for (int y = bottomY; y <= topY; y++) {
-      BlockState blockState = getBlockStateForIslandLayer(y, bottomY, topY);
-      chunk.setBlockState(new BlockPos(localX, y, localZ), blockState, false);
+          bottomY,
+          Math.min(bottomY + 2, topY - 3),
+          Blocks.END_STONE.defaultBlockState());
+      chunkBlockWriter.fillColumn(
+          localX, localZ, bottomY + 3, topY - 3, Blocks.STONE.defaultBlockState());
+      chunkBlockWriter.fillColumn(
+          localX, localZ, Math.max(bottomY, topY - 2), topY - 1, Blocks.DIRT.defaultBlockState());
+      chunkBlockWriter.setBlock(localX, topY, localZ, Blocks.GRASS_BLOCK.defaultBlockState());
     }
 
     if (vegetationRandom.nextFloat() < FloatingIslandsChunkGeneratorConfig.VEGETATION_CHANCE) {
-      addVegetation(chunk, localX, localZ, topY + 1);
+      addVegetation(chunkBlockWriter, vegetationRandom, localX, localZ, topY + 1);
     }
   }
 
@@ -275,21 +442,22 @@ public class FloatingIslandsChunkGenerator extends ChunkGenerator {
   }
 
   private void addVegetation(
-      final ChunkAccess chunk, final int localX, final int localZ, final int y) {
+      final ChunkBlockWriter chunkBlockWriter,
+      final RandomSource vegetationRandom,
+      final int localX,
+      final int localZ,
+      final int y) {
     if (y < getMinY() || y > getMinY() + getGenDepth()) return;
 
     double grassChance = FloatingIslandsChunkGeneratorConfig.GRASS_CHANCE;
     double treeChance = FloatingIslandsChunkGeneratorConfig.TREE_CHANCE;
 
     if (vegetationRandom.nextFloat() < grassChance) {
-      chunk.setBlockState(
-          new BlockPos(localX, y, localZ), Blocks.GRASS_BLOCK.defaultBlockState(), false);
+      chunkBlockWriter.setBlock(localX, y, localZ, Blocks.GRASS_BLOCK.defaultBlockState());
     } else if (vegetationRandom.nextFloat() < treeChance) {
-      chunk.setBlockState(
-          new BlockPos(localX, y, localZ), Blocks.OAK_SAPLING.defaultBlockState(), false);
+      chunkBlockWriter.setBlock(localX, y, localZ, Blocks.OAK_SAPLING.defaultBlockState());
     } else {
-      chunk.setBlockState(
-          new BlockPos(localX, y, localZ), Blocks.DANDELION.defaultBlockState(), false);
+      chunkBlockWriter.setBlock(localX, y, localZ, Blocks.DANDELION.defaultBlockState());
     }
   }
 
@@ -311,9 +479,17 @@ public class FloatingIslandsChunkGenerator extends ChunkGenerator {
       final LevelHeightAccessor level,
       final RandomState randomState) {
 
-    double islandDensity = getIslandDensityAt(x, z);
-    if (islandDensity > FloatingIslandsChunkGeneratorConfig.ISLAND_DENSITY) {
-      return getIslandHeightAt(x, z);
+    // Without the column cache only the queried column is computed instead of the whole chunk.
+    if (!FloatingIslandsChunkGeneratorConfig.ENABLE_HEIGHT_CACHING) {
+      IslandColumn islandColumn = computeIslandColumn(x, z);
+      return islandColumn != null ? islandColumn.centerHeight() : level.getMinBuildHeight();
+    }
+
+    IslandColumns islandColumns =
+        getIslandColumns(SectionPos.blockToSectionCoord(x), SectionPos.blockToSectionCoord(z));
+    int index = getColumnIndex(x & 15, z & 15);
+    if (islandColumns.isIsland[index]) {
+      return islandColumns.centerHeight[index];
     }
     return level.getMinBuildHeight();
   }
@@ -322,23 +498,107 @@ public class FloatingIslandsChunkGenerator extends ChunkGenerator {
   public NoiseColumn getBaseColumn(
       final int x, final int z, final LevelHeightAccessor level, final RandomState randomState) {
 
-    BlockState[] states = new BlockState[level.getHeight()];
+    if (!FloatingIslandsChunkGeneratorConfig.ENABLE_HEIGHT_CACHING) {
+      IslandColumn islandColumn = computeIslandColumn(x, z);
+      return islandColumn != null
+          ? createBaseColumn(islandColumn.centerHeight(), islandColumn.thickness(), level)
+          : ChunkGeneratorHelper.EMPTY_NOISE_COLUMN;
+    }
 
-    double islandDensity = getIslandDensityAt(x, z);
-    if (islandDensity > FloatingIslandsChunkGeneratorConfig.ISLAND_DENSITY) {
-      int islandHeight = getIslandHeightAt(x, z);
-      int thickness = getIslandThicknessAt(x, z);
+    IslandColumns islandColumns =
+        getIslandColumns(SectionPos.blockToSectionCoord(x), SectionPos.blockToSectionCoord(z));
+    int index = getColumnIndex(x & 15, z & 15);
+    if (!islandColumns.isIsland[index]) {
+      return ChunkGeneratorHelper.EMPTY_NOISE_COLUMN;
+    }
 
-      int bottomY = Math.max(islandHeight - thickness, level.getMinBuildHeight());
+    // Island columns are immutable and shared through the column cache.
+    NoiseColumn baseColumn = islandColumns.baseColumns[index];
+    if (baseColumn == null) {
+      baseColumn =
+          createBaseColumn(
+              islandColumns.centerHeight[index], islandColumns.thickness[index], level);
+      islandColumns.baseColumns[index] = baseColumn;
+    }
+    return baseColumn;
+  }
 
-      for (int y = bottomY; y <= islandHeight; y++) {
-        int arrayIndex = y - level.getMinBuildHeight();
-        if (arrayIndex >= 0 && arrayIndex < states.length) {
-          states[arrayIndex] = getBlockStateForIslandLayer(y, bottomY, islandHeight);
-        }
+  private NoiseColumn createBaseColumn(
+      final int islandHeight, final int thickness, final LevelHeightAccessor level) {
+    int bottomY = Math.max(islandHeight - thickness, level.getMinBuildHeight());
+    int topY = Math.min(islandHeight, level.getMaxBuildHeight() - 1);
+    if (bottomY > topY) {
+      return ChunkGeneratorHelper.EMPTY_NOISE_COLUMN;
+    }
+
+    // Only the island itself is stored, everything outside of the column is reported as air.
+    BlockState[] states = new BlockState[topY - bottomY + 1];
+    for (int y = bottomY; y <= topY; y++) {
+      states[y - bottomY] = getBlockStateForIslandLayer(y, bottomY, islandHeight);
+    }
+    return new NoiseColumn(bottomY, states);
+  }
+
+  public static String getMetricsSummary() {
+    long chunks = generatedChunks.get();
+    long nanos = generationNanos.get();
+    long cacheRequests = columnCacheHits.get() + columnCacheMisses.get();
+    return String.format(
+        "chunks=%d, %.1f chunks/s per thread, column cache hit rate=%.1f%%",
+        chunks,
+        nanos > 0 ? chunks * 1_000_000_000.0 / nanos : 0.0,
+        cacheRequests > 0 ? columnCacheHits.get() * 100.0 / cacheRequests : 0.0);
+  }
+
+  // Worker threads generate neighbouring chunks at the same time, so the cache is split into
+  // stripes with their own lock and least recently used order instead of one global lock.
+  private static final class IslandColumnCache {
+    private final List<Map<Long, IslandColumns>> stripes = new ArrayList<>();
+
+    private IslandColumnCache() {
+      for (int stripe = 0; stripe < COLUMN_CACHE_STRIPES; stripe++) {
+        this.stripes.add(
+            new LinkedHashMap<>(16, 0.75f, true) {
+              @Override
+              protected boolean removeEldestEntry(final Map.Entry<Long, IslandColumns> eldest) {
+                return size() > getStripeSize();
+              }
+            });
       }
     }
 
-    return new NoiseColumn(level.getMinBuildHeight(), states);
+    private IslandColumns get(final long chunkKey) {
+      Map<Long, IslandColumns> stripe = getStripe(chunkKey);
+      synchronized (stripe) {
+        return stripe.get(chunkKey);
+      }
+    }
+
+    private void put(final long chunkKey, final IslandColumns islandColumns) {
+      Map<Long, IslandColumns> stripe = getStripe(chunkKey);
+      synchronized (stripe) {
+        stripe.put(chunkKey, islandColumns);
+      }
+    }
+
+    private static int getStripeSize() {
+      int cacheSize = FloatingIslandsChunkGeneratorConfig.COLUMN_CACHE_SIZE;
+      return Math.max(1, cacheSize / COLUMN_CACHE_STRIPES);
+    }
+
+    private Map<Long, IslandColumns> getStripe(final long chunkKey) {
+      // Mixes the chunk x and z coordinates, so neighbouring chunks use different stripes.
+      return this.stripes.get(Long.hashCode(chunkKey) & (COLUMN_CACHE_STRIPES - 1));
+    }
+  }
+
+  private record IslandColumn(int centerHeight, int thickness) {}
+
+  static final class IslandColumns {
+    final boolean[] isIsland = new boolean[COLUMNS_PER_CHUNK];
+    final int[] centerHeight = new int[COLUMNS_PER_CHUNK];
+    final int[] thickness = new int[COLUMNS_PER_CHUNK];
+    final int[] topY = new int[COLUMNS_PER_CHUNK];
+    private final NoiseColumn[] baseColumns = new NoiseColumn[COLUMNS_PER_CHUNK];
   }
 }
@@ -62,6 +62,10 @@ public class SkyblockChunkGenerator extends ChunkGenerator {
           });
 
   private static final int SPAWN_Y = 64;
+  private static final int SPAWN_ISLAND_CENTER_X = 8;
+  private static final int SPAWN_ISLAND_CENTER_Z = 8;
+  private static final double SPAWN_ISLAND_GRASS_RADIUS = 2.5;
+  private static final double SPAWN_ISLAND_STONE_RADIUS = 3.5;
 
   public SkyblockChunkGenerator(final HolderGetter<Biome> biomeGetter) {
     super(new FixedBiomeSource(biomeGetter.getOrThrow(Biomes.PLAINS)));
@@ -148,8 +152,8 @@ public class SkyblockChunkGenerator extends ChunkGenerator {
     Optional<WorldgenConfig> worldgenConfiguration =
         WorldgenConfigLoader.getConfig(ChunkGeneratorType.SKYBLOCK);
 
-    int centerX = 8;
-    int centerZ = 8;
+    int centerX = SPAWN_ISLAND_CENTER_X;
+    int centerZ = SPAWN_ISLAND_CENTER_Z;
 
     generateIslandBase(chunk, centerX, centerZ);
 
@@ -159,54 +163,30 @@ public class SkyblockChunkGenerator extends ChunkGenerator {
 
   private void generateIslandBase(final ChunkAccess chunk, final int centerX, final int centerZ) {
     // Standard Skyblock island: 3x3 base with additional blocks
+    ChunkBlockWriter chunkBlockWriter = new ChunkBlockWriter(chunk);
 
-    // Ground layer (Y=60): Larger base
+    // Each column is written bottom-up: stone (Y=60), dirt (Y=61-63) and grass (Y=64).
     for (int x = centerX - 3; x <= centerX + 3; x++) {
       for (int z = centerZ - 3; z <= centerZ + 3; z++) {
-        if (isInBounds(x, z)) {
-          // Circular island
-          double distance =
-              Math.sqrt((x - centerX) * (x - centerX) + (z - centerZ) * (z - centerZ));
-          if (distance <= 3.5) {
-            chunk.setBlockState(
-                new BlockPos(x, SPAWN_Y - 4, z), Blocks.STONE.defaultBlockState(), false);
-          }
+        if (!isInBounds(x, z)) {
+          continue;
         }
-      }
-    }
 
-    // Dirt layer (Y=61-63)
-    for (int y = SPAWN_Y - 3; y <= SPAWN_Y - 1; y++) {
-      for (int x = centerX - 2; x <= centerX + 2; x++) {
-        for (int z = centerZ - 2; z <= centerZ + 2; z++) {
-          if (isInBounds(x, z)) {
-            double distance =
-                Math.sqrt((x - centerX) * (x - centerX) + (z - centerZ) * (z - centerZ));
-            if (distance <= 2.5) {
-              chunk.setBlockState(new BlockPos(x, y, z), Blocks.DIRT.defaultBlockState(), false);
-            }
-          }
+        // Circular island
+        double distance = Math.sqrt((x - centerX) * (x - centerX) + (z - centerZ) * (z - centerZ));
+        if (distance <= SPAWN_ISLAND_STONE_RADIUS) {
+          chunkBlockWriter.setBlock(x, SPAWN_Y - 4, z, Blocks.STONE.defaultBlockState());
         }
-      }
-    }
-
-    // Grass layer (Y=64)
-    for (int x = centerX - 2; x <= centerX + 2; x++) {
-      for (int z = centerZ - 2; z <= centerZ + 2; z++) {
-        if (isInBounds(x, z)) {
-          double distance =
-              Math.sqrt((x - centerX) * (x - centerX) + (z - centerZ) * (z - centerZ));
-          if (distance <= 2.5) {
-            chunk.setBlockState(
-                new BlockPos(x, SPAWN_Y, z), Blocks.GRASS_BLOCK.defaultBlockState(), false);
-          }
+        if (distance <= SPAWN_ISLAND_GRASS_RADIUS) {
+          chunkBlockWriter.fillColumn(
+              x, z, SPAWN_Y - 3, SPAWN_Y - 1, Blocks.DIRT.defaultBlockState());
+          chunkBlockWriter.setBlock(x, SPAWN_Y, z, Blocks.GRASS_BLOCK.defaultBlockState());
         }
       }
     }
 
     // Place a tree in the center
-    BlockPos treePos = new BlockPos(centerX, SPAWN_Y + 1, centerZ);
-    generateSimpleTree(chunk, treePos);
+    generateSimpleTree(chunkBlockWriter, centerX, SPAWN_Y + 1, centerZ);
 
     // Place a chest with starter items
     BlockPos chestPos = new BlockPos(centerX + 2, SPAWN_Y + 1, centerZ);
@@ -221,23 +201,20 @@ public class SkyblockChunkGenerator extends ChunkGenerator {
     config.customSettings();
   }
 
-  private void generateSimpleTree(final ChunkAccess chunk, final BlockPos pos) {
-    for (int y = 0; y < 4; y++) {
-      BlockPos trunkPos = pos.offset(0, y, 0);
-      if (isInBounds(trunkPos.getX(), trunkPos.getZ())) {
-        chunk.setBlockState(trunkPos, Blocks.OAK_LOG.defaultBlockState(), false);
-      }
+  private void generateSimpleTree(
+      final ChunkBlockWriter chunkBlockWriter, final int baseX, final int baseY, final int baseZ) {
+    if (isInBounds(baseX, baseZ)) {
+      chunkBlockWriter.fillColumn(
+          baseX, baseZ, baseY, baseY + 3, Blocks.OAK_LOG.defaultBlockState());
     }
 
-    for (int x = -1; x <= 1; x++) {
-      for (int z = -1; z <= 1; z++) {
-        for (int y = 3; y <= 4; y++) {
-          if (x == 0 && z == 0 && y == 3) continue;
-          BlockPos leafPos = pos.offset(x, y, z);
-          if (isInBounds(leafPos.getX(), leafPos.getZ())) {
-            chunk.setBlockState(leafPos, Blocks.OAK_LEAVES.defaultBlockState(), false);
-          }
+    for (int x = baseX - 1; x <= baseX + 1; x++) {
+      for (int z = baseZ - 1; z <= baseZ + 1; z++) {
+        if (!isInBounds(x, z)) {
+          continue;
         }
+        int fromY = x == baseX && z == baseZ ? baseY + 4 : baseY + 3;
+        chunkBlockWriter.fillColumn(x, z, fromY, baseY + 4, Blocks.OAK_LEAVES.defaultBlockState());
       }
     }
   }
@@ -304,8 +281,12 @@ public class SkyblockChunkGenerator extends ChunkGenerator {
       final Heightmap.Types types,
       final LevelHeightAccessor level,
       final RandomState randomState) {
-    if (Math.abs(x) <= 8 && Math.abs(z) <= 8) {
-      return SPAWN_Y;
+    // Same footprint as the generated spawn island, reporting the first free block above it.
+    double distance = getSpawnIslandDistance(x, z);
+    if (distance <= SPAWN_ISLAND_GRASS_RADIUS) {
+      return SPAWN_Y + 1;
+    } else if (distance <= SPAWN_ISLAND_STONE_RADIUS) {
+      return SPAWN_Y - 3;
     }
     return level.getMinBuildHeight();
   }
@@ -313,27 +294,36 @@ public class SkyblockChunkGenerator extends ChunkGenerator {
   @Override
   public NoiseColumn getBaseColumn(
       final int x, final int z, final LevelHeightAccessor level, final RandomState randomState) {
-    BlockState[] states = new BlockState[level.getHeight()];
-
     // Set blocks for the spawn island area
-    if (Math.abs(x) <= 8 && Math.abs(z) <= 8) {
-      double distance = Math.sqrt(x * x + z * z);
-      if (distance <= 3.5) {
-        int baseY = SPAWN_Y + level.getMinBuildHeight();
-        if (baseY - 4 >= 0 && baseY - 4 < states.length) {
-          states[baseY - 4] = Blocks.STONE.defaultBlockState();
-        }
-        for (int y = baseY - 3; y <= baseY - 1; y++) {
-          if (y >= 0 && y < states.length && distance <= 2.5) {
-            states[y] = Blocks.DIRT.defaultBlockState();
-          }
-        }
-        if (baseY >= 0 && baseY < states.length && distance <= 2.5) {
-          states[baseY] = Blocks.GRASS_BLOCK.defaultBlockState();
-        }
-      }
+    double distance = getSpawnIslandDistance(x, z);
+    if (distance <= SPAWN_ISLAND_GRASS_RADIUS) {
+      return SpawnIslandColumns.CENTER;
+    } else if (distance <= SPAWN_ISLAND_STONE_RADIUS) {
+      return SpawnIslandColumns.EDGE;
     }
+    return ChunkGeneratorHelper.EMPTY_NOISE_COLUMN;
+  }
+
+  private static double getSpawnIslandDistance(final int x, final int z) {
+    // The spawn island is centered on block 8, 8 of chunk 0, 0.
+    double offsetX = x - SPAWN_ISLAND_CENTER_X;
+    double offsetZ = z - SPAWN_ISLAND_CENTER_Z;
+    return Math.sqrt(offsetX * offsetX + offsetZ * offsetZ);
+  }
 
-    return new NoiseColumn(level.getMinBuildHeight(), states);
+  // Loaded on first use, after the block registry has been bootstrapped.
+  private static final class SpawnIslandColumns {
+    private static final NoiseColumn CENTER =
+        new NoiseColumn(
+            SPAWN_Y - 4,
+            new BlockState[] {
+              Blocks.STONE.defaultBlockState(),
+              Blocks.DIRT.defaultBlockState(),
+              Blocks.DIRT.defaultBlockState(),
+              Blocks.DIRT.defaultBlockState(),
+              Blocks.GRASS_BLOCK.defaultBlockState()
+            });
+    private static final NoiseColumn EDGE =
+        new NoiseColumn(SPAWN_Y - 4, new BlockState[] {Blocks.STONE.defaultBlockState()});
   }
 }
@@ -7,9 +7,19 @@ import de.markusbordihn.worlddimensionnexus.dimension.DimensionManager;
 import de.markusbordihn.worlddimensionnexus.portal.PortalManager;
 import de.markusbordihn.worlddimensionnexus.portal.PortalTargetManager;
 import de.markusbordihn.worlddimensionnexus.teleport.AutoTeleportManager;
+import de.markusbordihn.worlddimensionnexus.teleport.TeleportHistory;
+import de.markusbordihn.worlddimensionnexus.utils.ModLogger;
+import de.markusbordihn.worlddimensionnexus.utils.ModLogger.PrefixLogger;
+import java.io.File;
+import java.io.IOException;
 import net.minecraft.ChatFormatting;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtAccounter;
+import net.minecraft.nbt.NbtIo;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.level.Level;
@@ -19,12 +29,38 @@ import net.minecraft.world.level.block.state.BlockState;
 
 public class PlayerEvents {
 
+  private static final PrefixLogger log = ModLogger.getPrefixLogger("Player Events");
+
+  private static final String DIMENSION_TAG = "Dimension";
+
+  public static void handlePlayerLoadFromFileEvent(final File playerFile) {
+    if (playerFile == null || !playerFile.exists()) {
+      return;
+    }
+
+    // Activate an inactive dimension before the player is placed, otherwise the player would be
+    // moved to the overworld.
+    try {
+      CompoundTag playerTag =
+          NbtIo.readCompressed(playerFile.toPath(), NbtAccounter.unlimitedHeap());
+      ResourceLocation dimensionLocation =
+          ResourceLocation.tryParse(playerTag.getString(DIMENSION_TAG));
+      if (dimensionLocation != null) {
+        DimensionManager.getOrActivateLevel(
+            ResourceKey.create(Registries.DIMENSION, dimensionLocation));
+      }
+    } catch (IOException e) {
+      log.error("Failed to read player dimension from {}: {}", playerFile, e.getMessage());
+    }
+  }
+
   public static void handlePlayerLoginEvent(final ServerPlayer serverPlayer) {
+    TeleportHistory.loadPlayerHistory(serverPlayer.getUUID());
     AutoTeleportManager.handlePlayerLogin(serverPlayer);
   }
 
   public static void handlePlayerLogoutEvent(final ServerPlayer serverPlayer) {
-    // Unused, but can be implemented if needed in the future.
+    TeleportHistory.unloadPlayerHistory(serverPlayer.getUUID());
   }
 
   public static void handlePlayerPostTickEvent(final ServerPlayer serverPlayer) {
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2025 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.worlddimensionnexus.saveddata;
+
+import de.markusbordihn.worlddimensionnexus.utils.ModLogger;
+import de.markusbordihn.worlddimensionnexus.utils.ModLogger.PrefixLogger;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import net.minecraft.core.HolderLookup.Provider;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.NbtUtils;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.saveddata.SavedData;
+import net.minecraft.world.level.storage.LevelResource;
+
+public abstract class AsyncSavedData extends SavedData {
+
+  private static final PrefixLogger log = ModLogger.getPrefixLogger("[Async Saved Data]");
+
+  private static final String DATA_TAG = "data";
+  private static final String TEMP_FILE_EXTENSION = ".tmp";
+  private static final int SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+  // All file writes share a single thread, so writes to the same file are never reordered.
+  private static final ExecutorService ioExecutor =
+      Executors.newSingleThreadExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "World Dimension Nexus Saved Data IO");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private static final AtomicInteger pendingWrites = new AtomicInteger();
+  private static final AtomicLong completedWrites = new AtomicLong();
+  private static final AtomicLong failedWrites = new AtomicLong();
+  private static final AtomicLong lastSnapshotNanos = new AtomicLong();
+  private static final AtomicLong maxSnapshotNanos = new AtomicLong();
+  private static final AtomicLong lastWriteNanos = new AtomicLong();
+  private static final AtomicLong maxWriteNanos = new AtomicLong();
+
+  private File dataFile;
+  private Provider registries;
+
+  // Captures the state on the server thread, the returned supplier encodes it on the IO thread.
+  protected abstract Supplier<CompoundTag> createSnapshot(final Provider provider);
+
+  // Called on the IO thread after a snapshot has been written successfully.
+  protected void onSnapshotWritten() {}
+
+  protected void setDataFile(final ServerLevel level, final String dataName) {
+    this.dataFile =
+        level
+            .getServer()
+            .getWorldPath(LevelResource.ROOT)
+            .resolve("data")
+            .resolve(dataName + ".dat")
+            .toFile();
+    this.registries = level.registryAccess();
+  }
+
+  public void saveNow() {
+    if (this.dataFile != null) {
+      this.setDirty();
+      this.save(this.dataFile, this.registries);
+    }
+  }
+
+  @Override
+  public CompoundTag save(final CompoundTag compoundTag, final Provider provider) {
+    return compoundTag.merge(createSnapshot(provider).get());
+  }
+
+  @Override
+  public void save(final File file, final Provider provider) {
+    if (!this.isDirty()) {
+      return;
+    }
+
+    long snapshotStart = System.nanoTime();
+    Supplier<CompoundTag> snapshot = createSnapshot(provider);
+    updateMetric(lastSnapshotNanos, maxSnapshotNanos, System.nanoTime() - snapshotStart);
+    this.setDirty(false);
+
+    submitWrite(
+        () -> {
+          CompoundTag compoundTag = new CompoundTag();
+          compoundTag.put(DATA_TAG, snapshot.get());
+          NbtUtils.addCurrentDataVersion(compoundTag);
+          try {
+            writeCompressedAtomic(compoundTag, file.toPath());
+            onSnapshotWritten();
+          } catch (IOException e) {
+            log.error("Failed to save {}: {}", file, e.getMessage());
+            failedWrites.incrementAndGet();
+            this.setDirty();
+          }
+        });
+  }
+
+  public static void submitWrite(final Runnable writeTask) {
+    pendingWrites.incrementAndGet();
+    ioExecutor.execute(
+        () -> {
+          long writeStart = System.nanoTime();
+          try {
+            writeTask.run();
+            completedWrites.incrementAndGet();
+          } catch (RuntimeException e) {
+            log.error("Unexpected error in background save: {}", e.getMessage());
+            failedWrites.incrementAndGet();
+          } finally {
+            updateMetric(lastWriteNanos, maxWriteNanos, System.nanoTime() - writeStart);
+            pendingWrites.decrementAndGet();
+          }
+        });
+  }
+
+  public static void writeCompressedAtomic(final CompoundTag compoundTag, final Path file)
+      throws IOException {
+    Path tempFile = file.resolveSibling(file.getFileName() + TEMP_FILE_EXTENSION);
+    NbtIo.writeCompressed(compoundTag, tempFile);
+    Files.move(
+        tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  public static void awaitPendingWrites() {
+    if (pendingWrites.get() == 0) {
+      return;
+    }
+    log.info("Waiting for {} pending background saves ...", pendingWrites.get());
+    try {
+      ioExecutor.submit(() -> {}).get(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException | TimeoutException e) {
+      log.error("Failed to finish pending background saves: {}", e.getMessage());
+    }
+  }
+
+  public static String getMetricsSummary() {
+    return String.format(
+        "Snapshot: %.2f ms (max %.2f ms), write: %.2f ms (max %.2f ms), "
+            + "completed: %d, failed: %d, pending: %d",
+        lastSnapshotNanos.get() / 1_000_000.0,
+        maxSnapshotNanos.get() / 1_000_000.0,
+        lastWriteNanos.get() / 1_000_000.0,
+        maxWriteNanos.get() / 1_000_000.0,
+        completedWrites.get(),
+        failedWrites.get(),
+        pendingWrites.get());
+  }
+
+  private static void updateMetric(
+      final AtomicLong lastValue, final AtomicLong maxValue, final long value) {
+    lastValue.set(value);
+    maxValue.accumulateAndGet(value, Math::max);
+  }
+}
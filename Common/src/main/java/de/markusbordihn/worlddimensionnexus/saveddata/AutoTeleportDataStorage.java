@@ -19,23 +19,33 @@
 
 package de.markusbordihn.worlddimensionnexus.saveddata;
 
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingOutputStream;
 import de.markusbordihn.worlddimensionnexus.Constants;
+import de.markusbordihn.worlddimensionnexus.data.teleport.AutoTeleportCompactionResult;
 import de.markusbordihn.worlddimensionnexus.data.teleport.AutoTeleportEntry;
 import de.markusbordihn.worlddimensionnexus.data.teleport.AutoTeleportTrigger;
 import de.markusbordihn.worlddimensionnexus.data.teleport.PlayerAutoTeleportData;
 import de.markusbordihn.worlddimensionnexus.utils.ModLogger;
 import de.markusbordihn.worlddimensionnexus.utils.ModLogger.PrefixLogger;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Supplier;
 import net.minecraft.core.HolderLookup.Provider;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtIo;
 import net.minecraft.nbt.NbtOps;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.util.datafix.DataFixTypes;
 import net.minecraft.world.level.saveddata.SavedData;
 
-public class AutoTeleportDataStorage extends SavedData {
+public class AutoTeleportDataStorage extends AsyncSavedData {
 
   public static final String DATA_NAME = Constants.MOD_ID + "_auto_teleports";
 
@@ -157,18 +167,25 @@ public class AutoTeleportDataStorage extends SavedData {
 
   public void updateLastExecution(
       final UUID playerId, final AutoTeleportTrigger trigger, final long timestamp) {
-    playerDataList.stream()
-        .filter(data -> data.playerId().equals(playerId))
-        .findFirst()
-        .ifPresent(
-            data -> {
-              PlayerAutoTeleportData newData = data.withExecution(trigger, timestamp);
-              playerDataList.remove(data);
-              playerDataList.add(newData);
-            });
+    PlayerAutoTeleportData existingData = getPlayerData(playerId);
+    if (existingData != null) {
+      playerDataList.remove(existingData);
+      playerDataList.add(existingData.withExecution(trigger, timestamp));
+    } else {
+      playerDataList.add(PlayerAutoTeleportData.empty(playerId).withExecution(trigger, timestamp));
+    }
     this.setDirty();
   }
 
+  public PlayerAutoTeleportData getPlayerData(final UUID playerId) {
+    for (PlayerAutoTeleportData data : playerDataList) {
+      if (data.playerId().equals(playerId)) {
+        return data;
+      }
+    }
+    return null;
+  }
+
   public long getLastExecution(final UUID playerId, final AutoTeleportTrigger trigger) {
     return playerDataList.stream()
         .filter(data -> data.playerId().equals(playerId))
@@ -205,61 +222,120 @@ public class AutoTeleportDataStorage extends SavedData {
     return new ArrayList<>(globalRulesList);
   }
 
-  public boolean hasPlayerTriggered(UUID playerId, AutoTeleportTrigger trigger) {
-    return playerDataList.stream()
-        .anyMatch(
-            data -> data.playerId().equals(playerId) && data.autoTeleports().containsKey(trigger));
-  }
-
   public void recordTriggerExecution(final UUID playerId, final AutoTeleportTrigger trigger) {
     updateLastExecution(playerId, trigger, System.currentTimeMillis());
   }
 
-  public boolean hasPlayerTriggeredToday(final UUID playerId, final AutoTeleportTrigger trigger) {
-    return isWithinTimeFrame(getLastExecution(playerId, trigger), 24 * 60 * 60 * 1000L);
+  public List<PlayerAutoTeleportData> getPlayerDataSnapshot() {
+    return List.copyOf(playerDataList);
   }
 
-  public boolean hasPlayerTriggeredThisWeek(
-      final UUID playerId, final AutoTeleportTrigger trigger) {
-    return isWithinTimeFrame(getLastExecution(playerId, trigger), 7 * 24 * 60 * 60 * 1000L);
-  }
+  public static AutoTeleportCompactionResult compactPlayerData(
+      final List<PlayerAutoTeleportData> playerDataSnapshot,
+      final Set<AutoTeleportTrigger> activeTriggers,
+      final long currentTime) {
+    Map<PlayerAutoTeleportData, PlayerAutoTeleportData> replacements = new HashMap<>();
+    List<PlayerAutoTeleportData> compactedPlayerData = new ArrayList<>(playerDataSnapshot.size());
+    int compactedRecords = 0;
+    int removedPlayers = 0;
+
+    for (PlayerAutoTeleportData data : playerDataSnapshot) {
+      PlayerAutoTeleportData compactedData =
+          data.withoutExpiredExecutions(activeTriggers, currentTime);
+      if (compactedData == data) {
+        compactedPlayerData.add(data);
+        continue;
+      }
+
+      compactedRecords += data.lastExecutions().size() - compactedData.lastExecutions().size();
+      if (compactedData.isEmpty()) {
+        replacements.put(data, null);
+        removedPlayers++;
+      } else {
+        replacements.put(data, compactedData);
+        compactedPlayerData.add(compactedData);
+      }
+    }
 
-  public boolean hasPlayerTriggeredThisMonth(
-      final UUID playerId, final AutoTeleportTrigger trigger) {
-    return isWithinTimeFrame(getLastExecution(playerId, trigger), 30L * 24 * 60 * 60 * 1000L);
+    if (replacements.isEmpty()) {
+      return AutoTeleportCompactionResult.empty();
+    }
+    return new AutoTeleportCompactionResult(
+        replacements,
+        compactedRecords,
+        removedPlayers,
+        getEncodedSize(playerDataSnapshot),
+        getEncodedSize(compactedPlayerData));
   }
 
-  private boolean isWithinTimeFrame(long lastExecution, long timeFrameMillis) {
-    if (lastExecution == 0L) {
-      return false;
+  public void applyCompaction(final AutoTeleportCompactionResult compactionResult) {
+    if (!compactionResult.hasChanges()) {
+      return;
     }
-    long currentTime = System.currentTimeMillis();
-    return (currentTime - lastExecution) < timeFrameMillis;
-  }
 
-  public void clear() {
+    // Entries which have been changed in the meantime are kept as they are.
+    List<PlayerAutoTeleportData> compactedPlayerData = new ArrayList<>(playerDataList.size());
+    for (PlayerAutoTeleportData data : playerDataList) {
+      if (!compactionResult.replacements().containsKey(data)) {
+        compactedPlayerData.add(data);
+        continue;
+      }
+      PlayerAutoTeleportData compactedData = compactionResult.replacements().get(data);
+      if (compactedData != null) {
+        compactedPlayerData.add(compactedData);
+      }
+    }
     playerDataList.clear();
-    globalRulesList.clear();
-    log.info("Cleared all auto-teleport data");
+    playerDataList.addAll(compactedPlayerData);
     this.setDirty();
   }
 
-  @Override
-  public CompoundTag save(final CompoundTag compoundTag, final Provider provider) {
+  private static long getEncodedSize(final List<PlayerAutoTeleportData> playerData) {
+    CompoundTag compoundTag = new CompoundTag();
     PlayerAutoTeleportData.CODEC
         .listOf()
-        .encodeStart(NbtOps.INSTANCE, playerDataList)
+        .encodeStart(NbtOps.INSTANCE, playerData)
         .resultOrPartial(
             error -> log.error("Failed to encode player auto-teleport data: {}", error))
         .ifPresent(tag -> compoundTag.put(PLAYER_DATA_TAG, tag));
 
-    AutoTeleportEntry.CODEC
-        .listOf()
-        .encodeStart(NbtOps.INSTANCE, globalRulesList)
-        .resultOrPartial(
-            error -> log.error("Failed to encode global auto-teleport rules: {}", error))
-        .ifPresent(tag -> compoundTag.put(GLOBAL_RULES_TAG, tag));
+    try (CountingOutputStream outputStream =
+        new CountingOutputStream(ByteStreams.nullOutputStream())) {
+      NbtIo.write(compoundTag, new DataOutputStream(outputStream));
+      return outputStream.getCount();
+    } catch (IOException e) {
+      log.error("Failed to measure player auto-teleport data size: {}", e.getMessage());
+      return 0L;
+    }
+  }
 
-    return compoundTag;
+  public void clear() {
+    playerDataList.clear();
+    globalRulesList.clear();
+    log.info("Cleared all auto-teleport data");
+    this.setDirty();
+  }
+
+  @Override
+  protected Supplier<CompoundTag> createSnapshot(final Provider provider) {
+    List<PlayerAutoTeleportData> playerData = List.copyOf(playerDataList);
+    List<AutoTeleportEntry> globalRules = List.copyOf(globalRulesList);
+    return () -> {
+      CompoundTag compoundTag = new CompoundTag();
+      PlayerAutoTeleportData.CODEC
+          .listOf()
+          .encodeStart(NbtOps.INSTANCE, playerData)
+          .resultOrPartial(
+              error -> log.error("Failed to encode player auto-teleport data: {}", error))
+          .ifPresent(tag -> compoundTag.put(PLAYER_DATA_TAG, tag));
+
+      AutoTeleportEntry.CODEC
+          .listOf()
+          .encodeStart(NbtOps.INSTANCE, globalRules)
+          .resultOrPartial(
+              error -> log.error("Failed to encode global auto-teleport rules: {}", error))
+          .ifPresent(tag -> compoundTag.put(GLOBAL_RULES_TAG, tag));
+      return compoundTag;
+    };
   }
 }
@@ -24,26 +24,49 @@ import de.markusbordihn.worlddimensionnexus.data.dimension.DimensionInfoData;
 import de.markusbordihn.worlddimensionnexus.utils.ModLogger;
 import de.markusbordihn.worlddimensionnexus.utils.ModLogger.PrefixLogger;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 import net.minecraft.core.HolderLookup.Provider;
+import net.minecraft.core.registries.Registries;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.NbtOps;
+import net.minecraft.nbt.StringTag;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.util.datafix.DataFixTypes;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.saveddata.SavedData;
+import net.minecraft.world.level.storage.LevelResource;
 
-public class DimensionDataStorage extends SavedData {
+public class DimensionDataStorage extends AsyncSavedData {
 
   public static final String DATA_NAME = Constants.MOD_ID + "_dimensions";
   private static final PrefixLogger log = ModLogger.getPrefixLogger("[Dimension Data Storage]");
   private static final String DIMENSION_TAG = "Dimensions";
+  private static final String JOURNAL_FILE = "dimensions.journal";
+
+  // Journal operations
+  private static final String PUT_DIMENSION_OPERATION = "PutDimension";
+  private static final String REMOVE_DIMENSION_OPERATION = "RemoveDimension";
 
   private static DimensionDataStorage instance = null;
-  private final List<DimensionInfoData> dimensionList;
+  private final Map<ResourceKey<Level>, DimensionInfoData> dimensionMap = new LinkedHashMap<>();
+  private MutationJournal journal;
 
   public DimensionDataStorage(final List<DimensionInfoData> dimensionList) {
-    log.info("Creating new Dimension Data Storage with {} dimensions.", dimensionList.size());
-    this.dimensionList = dimensionList;
+    // Older versions appended a new entry on every update, so the latest entry wins.
+    for (DimensionInfoData dimensionInfoData : dimensionList) {
+      this.dimensionMap.put(dimensionInfoData.getDimensionKey(), dimensionInfoData);
+    }
+    int duplicateDimensions = dimensionList.size() - this.dimensionMap.size();
+    if (duplicateDimensions > 0) {
+      log.info("Removed {} duplicate dimension entries from storage.", duplicateDimensions);
+      this.setDirty();
+    }
+    log.info("Creating new Dimension Data Storage with {} dimensions.", this.dimensionMap.size());
   }
 
   public static void init(final ServerLevel serverLevel) {
@@ -65,6 +88,17 @@ public class DimensionDataStorage extends SavedData {
   public static DimensionDataStorage get(final ServerLevel level) {
     if (instance == null) {
       instance = level.getDataStorage().computeIfAbsent(factory(), DATA_NAME);
+      instance.setDataFile(level, DATA_NAME);
+      instance.journal =
+          new MutationJournal(
+              level
+                  .getServer()
+                  .getWorldPath(LevelResource.ROOT)
+                  .resolve("data")
+                  .resolve(Constants.MOD_ID)
+                  .resolve(JOURNAL_FILE),
+              instance::saveNow);
+      instance.replayJournal();
     }
     return instance;
   }
@@ -93,13 +127,28 @@ public class DimensionDataStorage extends SavedData {
   }
 
   public void addDimension(final DimensionInfoData dimensionInfoData) {
-    this.dimensionList.add(dimensionInfoData);
-    this.setDirty();
+    // Replaces any existing entry for the same dimension key.
+    DimensionInfoData previousInfoData =
+        this.dimensionMap.put(dimensionInfoData.getDimensionKey(), dimensionInfoData);
+    if (!dimensionInfoData.equals(previousInfoData)) {
+      if (this.journal != null) {
+        DimensionInfoData.CODEC
+            .encodeStart(NbtOps.INSTANCE, dimensionInfoData)
+            .resultOrPartial(error -> log.error("Failed to encode journal entry: {}", error))
+            .ifPresent(tag -> this.journal.append(PUT_DIMENSION_OPERATION, tag));
+      }
+      this.setDirty();
+    }
   }
 
   public boolean removeDimension(final DimensionInfoData dimensionInfoData) {
-    boolean removed = this.dimensionList.remove(dimensionInfoData);
+    boolean removed = this.dimensionMap.remove(dimensionInfoData.getDimensionKey()) != null;
     if (removed) {
+      if (this.journal != null) {
+        this.journal.append(
+            REMOVE_DIMENSION_OPERATION,
+            StringTag.valueOf(dimensionInfoData.getDimensionKey().location().toString()));
+      }
       this.setDirty();
       log.info(
           "Removed dimension from storage: {}", dimensionInfoData.getDimensionKey().location());
@@ -111,33 +160,74 @@ public class DimensionDataStorage extends SavedData {
   }
 
   public boolean removeDimensionByName(final String name) {
-    DimensionInfoData toRemove = null;
-    for (DimensionInfoData dimension : this.dimensionList) {
-      if (dimension.getDimensionKey().location().getNamespace().equals(Constants.MOD_ID)
-          && dimension.getDimensionKey().location().getPath().equals(name)) {
-        toRemove = dimension;
-        break;
-      }
-    }
-
+    ResourceKey<Level> dimensionKey =
+        ResourceKey.create(
+            Registries.DIMENSION, ResourceLocation.fromNamespaceAndPath(Constants.MOD_ID, name));
+    DimensionInfoData toRemove = this.dimensionMap.get(dimensionKey);
     if (toRemove != null) {
       return removeDimension(toRemove);
     }
     return false;
   }
 
+  public DimensionInfoData getDimension(final ResourceKey<Level> dimensionKey) {
+    return this.dimensionMap.get(dimensionKey);
+  }
+
   public List<DimensionInfoData> getDimensions() {
-    return this.dimensionList;
+    return new ArrayList<>(this.dimensionMap.values());
+  }
+
+  private void replayJournal() {
+    List<CompoundTag> entries = this.journal.read();
+    if (entries.isEmpty()) {
+      return;
+    }
+
+    // Changes after the last full save are applied again and folded into the next save.
+    for (CompoundTag entry : entries) {
+      switch (entry.getString(MutationJournal.OPERATION_TAG)) {
+        case PUT_DIMENSION_OPERATION ->
+            DimensionInfoData.CODEC
+                .parse(NbtOps.INSTANCE, entry.get(MutationJournal.DATA_TAG))
+                .resultOrPartial(error -> log.error("Failed to decode journal entry: {}", error))
+                .ifPresent(
+                    dimensionInfoData ->
+                        this.dimensionMap.put(
+                            dimensionInfoData.getDimensionKey(), dimensionInfoData));
+        case REMOVE_DIMENSION_OPERATION ->
+            this.dimensionMap.remove(
+                ResourceKey.create(
+                    Registries.DIMENSION,
+                    ResourceLocation.parse(entry.getString(MutationJournal.DATA_TAG))));
+        default -> log.warn("Unknown journal operation in entry: {}", entry);
+      }
+    }
+    log.info("Replayed {} dimension changes from journal.", entries.size());
+    this.setDirty();
   }
 
   @Override
-  public CompoundTag save(final CompoundTag compoundTag, final Provider provider) {
-    DimensionInfoData.CODEC
-        .listOf()
-        .encodeStart(NbtOps.INSTANCE, this.dimensionList)
-        .resultOrPartial(error -> log.error("Failed to encode dimension data: {}", error))
-        .ifPresent(dimensionsTag -> compoundTag.put(DIMENSION_TAG, dimensionsTag));
-
-    return compoundTag;
+  protected void onSnapshotWritten() {
+    if (this.journal != null) {
+      this.journal.truncate();
+    }
+  }
+
+  @Override
+  protected Supplier<CompoundTag> createSnapshot(final Provider provider) {
+    if (this.journal != null) {
+      this.journal.flush();
+    }
+    List<DimensionInfoData> dimensions = List.copyOf(this.dimensionMap.values());
+    return () -> {
+      CompoundTag compoundTag = new CompoundTag();
+      DimensionInfoData.CODEC
+          .listOf()
+          .encodeStart(NbtOps.INSTANCE, dimensions)
+          .resultOrPartial(error -> log.error("Failed to encode dimension data: {}", error))
+          .ifPresent(dimensionsTag -> compoundTag.put(DIMENSION_TAG, dimensionsTag));
+      return compoundTag;
+    };
   }
 }
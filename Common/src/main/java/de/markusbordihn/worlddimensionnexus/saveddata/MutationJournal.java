@@ -0,0 +1,200 @@
+/*
+ * Copyright 2025 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.worlddimensionnexus.saveddata;
+
+import de.markusbordihn.worlddimensionnexus.utils.ModLogger;
+import de.markusbordihn.worlddimensionnexus.utils.ModLogger.PrefixLogger;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtAccounter;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.Tag;
+
+public class MutationJournal {
+
+  public static final String OPERATION_TAG = "Op";
+  public static final String DATA_TAG = "Data";
+
+  private static final PrefixLogger log = ModLogger.getPrefixLogger("[Mutation Journal]");
+
+  // Journals above this size are folded back into a full snapshot.
+  private static final long MAX_JOURNAL_SIZE = 1024L * 1024L;
+
+  private static final Set<MutationJournal> journals = ConcurrentHashMap.newKeySet();
+
+  private final Path journalFile;
+  private final Runnable foldAction;
+  private final List<byte[]> pendingEntries = new ArrayList<>();
+  private final AtomicLong journalSize = new AtomicLong();
+  private final AtomicBoolean foldRequested = new AtomicBoolean();
+
+  public MutationJournal(final Path journalFile, final Runnable foldAction) {
+    this.journalFile = journalFile;
+    this.foldAction = foldAction;
+    try {
+      this.journalSize.set(Files.exists(journalFile) ? Files.size(journalFile) : 0L);
+    } catch (IOException e) {
+      log.error("Failed to read size of journal {}: {}", journalFile, e.getMessage());
+    }
+    journals.add(this);
+  }
+
+  public static void flushAll() {
+    for (MutationJournal journal : journals) {
+      journal.flush();
+      if (journal.journalSize.get() > MAX_JOURNAL_SIZE
+          && journal.foldRequested.compareAndSet(false, true)) {
+        log.info(
+            "Folding journal {} with {} bytes into a full snapshot.",
+            journal.journalFile.getFileName(),
+            journal.journalSize.get());
+        journal.foldAction.run();
+      }
+    }
+  }
+
+  public static void closeAll() {
+    for (MutationJournal journal : journals) {
+      journal.flush();
+    }
+    journals.clear();
+  }
+
+  public void close() {
+    flush();
+    journals.remove(this);
+  }
+
+  public synchronized void append(final String operation, final Tag data) {
+    CompoundTag entryTag = new CompoundTag();
+    entryTag.putString(OPERATION_TAG, operation);
+    entryTag.put(DATA_TAG, data);
+    try {
+      ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+      NbtIo.write(entryTag, new DataOutputStream(outputStream));
+      this.pendingEntries.add(outputStream.toByteArray());
+    } catch (IOException e) {
+      log.error("Failed to encode journal entry {}: {}", operation, e.getMessage());
+    }
+  }
+
+  public synchronized void flush() {
+    if (this.pendingEntries.isEmpty()) {
+      return;
+    }
+    List<byte[]> entries = List.copyOf(this.pendingEntries);
+    this.pendingEntries.clear();
+    AsyncSavedData.submitWrite(() -> writeEntries(entries));
+  }
+
+  // Must run on the saved data IO thread, after the snapshot covering all entries was written.
+  public void truncate() {
+    try {
+      Files.deleteIfExists(this.journalFile);
+      this.journalSize.set(0L);
+    } catch (IOException e) {
+      log.error("Failed to truncate journal {}: {}", this.journalFile, e.getMessage());
+    }
+    this.foldRequested.set(false);
+  }
+
+  public List<CompoundTag> read() {
+    List<CompoundTag> entries = new ArrayList<>();
+    if (!Files.exists(this.journalFile)) {
+      return entries;
+    }
+
+    try (DataInputStream inputStream =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(this.journalFile)))) {
+      while (true) {
+        int length;
+        try {
+          length = inputStream.readInt();
+        } catch (EOFException e) {
+          break;
+        }
+        long checksum = inputStream.readLong();
+        byte[] entryData = new byte[length];
+        inputStream.readFully(entryData);
+        if (getChecksum(entryData) != checksum) {
+          log.warn("Ignoring corrupted entry at the end of journal {}", this.journalFile);
+          break;
+        }
+        entries.add(
+            NbtIo.read(
+                new DataInputStream(new ByteArrayInputStream(entryData)),
+                NbtAccounter.unlimitedHeap()));
+      }
+    } catch (EOFException e) {
+      log.warn("Ignoring incomplete entry at the end of journal {}", this.journalFile);
+    } catch (IOException | RuntimeException e) {
+      log.error("Failed to read journal {}: {}", this.journalFile, e.getMessage());
+    }
+    return entries;
+  }
+
+  private void writeEntries(final List<byte[]> entries) {
+    try {
+      Files.createDirectories(this.journalFile.getParent());
+      try (FileChannel channel =
+          FileChannel.open(
+              this.journalFile,
+              StandardOpenOption.CREATE,
+              StandardOpenOption.WRITE,
+              StandardOpenOption.APPEND)) {
+        for (byte[] entryData : entries) {
+          ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + Long.BYTES + entryData.length);
+          buffer.putInt(entryData.length).putLong(getChecksum(entryData)).put(entryData).flip();
+          while (buffer.hasRemaining()) {
+            channel.write(buffer);
+          }
+          this.journalSize.addAndGet(buffer.limit());
+        }
+        channel.force(false);
+      }
+    } catch (IOException e) {
+      log.error("Failed to write {} journal entries: {}", entries.size(), e.getMessage());
+    }
+  }
+
+  private static long getChecksum(final byte[] data) {
+    CRC32 crc32 = new CRC32();
+    crc32.update(data);
+    return crc32.getValue();
+  }
+}
@@ -19,22 +19,46 @@
 
 package de.markusbordihn.worlddimensionnexus.saveddata;
 
+import com.mojang.serialization.Codec;
 import de.markusbordihn.worlddimensionnexus.Constants;
 import de.markusbordihn.worlddimensionnexus.data.portal.PortalInfoData;
 import de.markusbordihn.worlddimensionnexus.data.portal.PortalTargetData;
 import de.markusbordihn.worlddimensionnexus.utils.ModLogger;
 import de.markusbordihn.worlddimensionnexus.utils.ModLogger.PrefixLogger;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 import net.minecraft.core.HolderLookup.Provider;
+import net.minecraft.core.UUIDUtil;
+import net.minecraft.core.registries.Registries;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.NbtAccounter;
+import net.minecraft.nbt.NbtIo;
 import net.minecraft.nbt.NbtOps;
+import net.minecraft.nbt.Tag;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.util.datafix.DataFixTypes;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.saveddata.SavedData;
+import net.minecraft.world.level.storage.LevelResource;
 
-public class PortalDataStorage extends SavedData {
+public class PortalDataStorage extends AsyncSavedData {
 
   public static final String DATA_NAME = Constants.MOD_ID + "_portals";
 
@@ -42,11 +66,31 @@ public class PortalDataStorage extends SavedData {
 
   private static final String PORTAL_TAG = "Portals";
   private static final String TARGETS_TAG = "Targets";
+  private static final String DIMENSION_TAG = "Dimension";
+  private static final String SHARD_DIRECTORY = "portals";
+  private static final String SHARD_FILE_EXTENSION = ".dat";
+  private static final String JOURNAL_FILE = "portals.journal";
+
+  // Journal operations
+  private static final String ADD_PORTAL_OPERATION = "AddPortal";
+  private static final String REMOVE_PORTAL_OPERATION = "RemovePortal";
+  private static final String SET_TARGET_OPERATION = "SetTarget";
+  private static final String REMOVE_TARGET_OPERATION = "RemoveTarget";
+  private static final String CLEAR_OPERATION = "Clear";
 
   private static PortalDataStorage instance;
 
-  private final List<PortalInfoData> portalList;
-  private final List<PortalTargetData> targetList;
+  // Portals and targets are grouped into one shard per dimension, each written on its own.
+  private final Map<ResourceKey<Level>, List<PortalInfoData>> portalShards = new HashMap<>();
+  private final Map<ResourceKey<Level>, Map<UUID, PortalTargetData>> targetShards =
+      new HashMap<>();
+  private final Map<UUID, ResourceKey<Level>> portalDimensions = new HashMap<>();
+  private final Map<UUID, ResourceKey<Level>> targetDimensions = new HashMap<>();
+  private final Set<ResourceKey<Level>> dirtyShards = ConcurrentHashMap.newKeySet();
+  private final Set<Path> staleShardFiles = ConcurrentHashMap.newKeySet();
+  private final AtomicBoolean shardWriteFailed = new AtomicBoolean();
+  private Path shardDirectory;
+  private MutationJournal journal;
 
   public PortalDataStorage(
       final List<PortalInfoData> portals, final List<PortalTargetData> targets) {
@@ -54,8 +98,24 @@ public class PortalDataStorage extends SavedData {
         "Creating new PortalDataStorage with {} portals and {} targets ...",
         portals.size(),
         targets.size());
-    this.portalList = new ArrayList<>(portals);
-    this.targetList = new ArrayList<>(targets);
+    for (PortalInfoData portal : portals) {
+      addPortalToShard(portal);
+    }
+    int duplicateTargets = 0;
+    for (PortalTargetData target : targets) {
+      if (this.targetDimensions.containsKey(target.portalId())) {
+        duplicateTargets++;
+      }
+      addTargetToShard(target);
+    }
+    if (duplicateTargets > 0) {
+      log.info("Removed {} duplicate portal targets.", duplicateTargets);
+    }
+
+    // Portals from the single-file format are migrated into dimension shards with the next save.
+    if (!this.dirtyShards.isEmpty()) {
+      this.setDirty();
+    }
   }
 
   public static void init(final ServerLevel serverLevel) {
@@ -77,10 +137,30 @@ public class PortalDataStorage extends SavedData {
   public static PortalDataStorage get(final ServerLevel level) {
     if (instance == null) {
       instance = level.getDataStorage().computeIfAbsent(factory(), DATA_NAME);
+      instance.setDataFile(level, DATA_NAME);
+      Path dataDirectory =
+          level
+              .getServer()
+              .getWorldPath(LevelResource.ROOT)
+              .resolve("data")
+              .resolve(Constants.MOD_ID);
+      instance.loadShards(dataDirectory.resolve(SHARD_DIRECTORY));
+      instance.openJournal(dataDirectory.resolve(JOURNAL_FILE));
     }
     return instance;
   }
 
+  void openJournal(final Path journalFile) {
+    this.journal = new MutationJournal(journalFile, this::saveNow);
+    replayJournal();
+  }
+
+  void closeJournal() {
+    if (this.journal != null) {
+      this.journal.close();
+    }
+  }
+
   public static SavedData.Factory<PortalDataStorage> factory() {
     return new SavedData.Factory<>(
         () -> new PortalDataStorage(new ArrayList<>(), new ArrayList<>()),
@@ -89,21 +169,29 @@ public class PortalDataStorage extends SavedData {
   }
 
   public static PortalDataStorage load(final CompoundTag compoundTag, final Provider provider) {
-    List<PortalInfoData> loadedPortals =
-        PortalInfoData.CODEC
-            .listOf()
-            .parse(NbtOps.INSTANCE, compoundTag.get(PORTAL_TAG))
-            .resultOrPartial(error -> log.error("Failed to decode portal data: {}", error))
-            .orElse(new ArrayList<>());
+    return new PortalDataStorage(decodePortals(compoundTag), decodeTargets(compoundTag));
+  }
 
-    List<PortalTargetData> loadedTargets =
-        PortalTargetData.CODEC
-            .listOf()
-            .parse(NbtOps.INSTANCE, compoundTag.get(TARGETS_TAG))
-            .resultOrPartial(error -> log.error("Failed to decode target data: {}", error))
-            .orElse(new ArrayList<>());
+  private static List<PortalInfoData> decodePortals(final CompoundTag compoundTag) {
+    if (!compoundTag.contains(PORTAL_TAG)) {
+      return new ArrayList<>();
+    }
+    return PortalInfoData.CODEC
+        .listOf()
+        .parse(NbtOps.INSTANCE, compoundTag.get(PORTAL_TAG))
+        .resultOrPartial(error -> log.error("Failed to decode portal data: {}", error))
+        .orElse(new ArrayList<>());
+  }
 
-    return new PortalDataStorage(loadedPortals, loadedTargets);
+  private static List<PortalTargetData> decodeTargets(final CompoundTag compoundTag) {
+    if (!compoundTag.contains(TARGETS_TAG)) {
+      return new ArrayList<>();
+    }
+    return PortalTargetData.CODEC
+        .listOf()
+        .parse(NbtOps.INSTANCE, compoundTag.get(TARGETS_TAG))
+        .resultOrPartial(error -> log.error("Failed to decode target data: {}", error))
+        .orElse(new ArrayList<>());
   }
 
   public static void clearInstance() {
@@ -116,7 +204,8 @@ public class PortalDataStorage extends SavedData {
       log.warn("Cannot add null portal.");
       return;
     }
-    portalList.add(portal);
+    addPortalToShard(portal);
+    appendJournal(ADD_PORTAL_OPERATION, PortalInfoData.CODEC, portal);
     log.info("Added portal: {}", portal.uuid());
     this.setDirty();
   }
@@ -126,7 +215,8 @@ public class PortalDataStorage extends SavedData {
       log.warn("Cannot remove null portal.");
       return;
     }
-    if (portalList.remove(portal)) {
+    if (removePortalFromShard(portal)) {
+      appendJournal(REMOVE_PORTAL_OPERATION, PortalInfoData.CODEC, portal);
       log.info("Removed portal: {}", portal.uuid());
       this.setDirty();
     }
@@ -137,9 +227,11 @@ public class PortalDataStorage extends SavedData {
       log.warn("Cannot add null target.");
       return;
     }
-    targetList.add(target);
-    log.info("Added target: {}", target.portalId());
-    this.setDirty();
+    if (addTargetToShard(target)) {
+      appendJournal(SET_TARGET_OPERATION, PortalTargetData.CODEC, target);
+      log.info("Updated target: {}", target.portalId());
+      this.setDirty();
+    }
   }
 
   public void removeTarget(final PortalTargetData target) {
@@ -147,7 +239,13 @@ public class PortalDataStorage extends SavedData {
       log.warn("Cannot remove null target.");
       return;
     }
-    if (targetList.remove(target)) {
+    ResourceKey<Level> shardKey = this.targetDimensions.get(target.portalId());
+    Map<UUID, PortalTargetData> targetShard =
+        shardKey != null ? this.targetShards.get(shardKey) : null;
+    if (targetShard != null
+        && target.equals(targetShard.get(target.portalId()))
+        && removeTargetFromShard(target.portalId())) {
+      appendJournal(REMOVE_TARGET_OPERATION, UUIDUtil.CODEC, target.portalId());
       log.info("Removed target: {}", target.portalId());
       this.setDirty();
     }
@@ -158,41 +256,347 @@ public class PortalDataStorage extends SavedData {
       log.warn("Cannot remove target with null portal ID.");
       return;
     }
-    if (targetList.removeIf(target -> portalId.equals(target.portalId()))) {
+    if (removeTargetFromShard(portalId)) {
+      appendJournal(REMOVE_TARGET_OPERATION, UUIDUtil.CODEC, portalId);
       log.info("Removed target for portal: {}", portalId);
       this.setDirty();
     }
   }
 
   public List<PortalInfoData> getPortals() {
-    return new ArrayList<>(portalList);
+    List<PortalInfoData> portals = new ArrayList<>();
+    this.portalShards.values().forEach(portals::addAll);
+    return portals;
   }
 
   public List<PortalTargetData> getTargets() {
-    return new ArrayList<>(targetList);
+    List<PortalTargetData> targets = new ArrayList<>();
+    this.targetShards.values().forEach(targetShard -> targets.addAll(targetShard.values()));
+    return targets;
   }
 
   public void clear() {
-    portalList.clear();
-    targetList.clear();
+    clearShards();
+    if (this.journal != null) {
+      this.journal.append(CLEAR_OPERATION, new CompoundTag());
+    }
     log.info("Cleared all portal and target data");
     this.setDirty();
   }
 
+  private void clearShards() {
+    this.dirtyShards.addAll(this.portalShards.keySet());
+    this.dirtyShards.addAll(this.targetShards.keySet());
+    this.portalShards.values().forEach(List::clear);
+    this.targetShards.values().forEach(Map::clear);
+    this.portalDimensions.clear();
+    this.targetDimensions.clear();
+  }
+
+  private void addPortalToShard(final PortalInfoData portal) {
+    // Each portal is stored once, so replayed or migrated entries replace the existing one.
+    ResourceKey<Level> previousShardKey =
+        this.portalDimensions.put(portal.uuid(), portal.dimension());
+    List<PortalInfoData> previousShard =
+        previousShardKey != null ? this.portalShards.get(previousShardKey) : null;
+    if (previousShard != null) {
+      for (int index = 0; index < previousShard.size(); index++) {
+        PortalInfoData previousPortal = previousShard.get(index);
+        if (!previousPortal.uuid().equals(portal.uuid())) {
+          continue;
+        }
+        if (previousShardKey.equals(portal.dimension())) {
+          if (!previousPortal.equals(portal)) {
+            previousShard.set(index, portal);
+            this.dirtyShards.add(previousShardKey);
+          }
+          return;
+        }
+        previousShard.remove(index);
+        this.dirtyShards.add(previousShardKey);
+        break;
+      }
+    }
+    this.portalShards.computeIfAbsent(portal.dimension(), key -> new ArrayList<>()).add(portal);
+    this.dirtyShards.add(portal.dimension());
+  }
+
+  private boolean removePortalFromShard(final PortalInfoData portal) {
+    List<PortalInfoData> portalShard = this.portalShards.get(portal.dimension());
+    if (portalShard == null || !portalShard.remove(portal)) {
+      return false;
+    }
+    this.portalDimensions.remove(portal.uuid());
+    this.dirtyShards.add(portal.dimension());
+    return true;
+  }
+
+  private boolean removeTargetFromShard(final UUID portalId) {
+    ResourceKey<Level> shardKey = this.targetDimensions.remove(portalId);
+    Map<UUID, PortalTargetData> targetShard =
+        shardKey != null ? this.targetShards.get(shardKey) : null;
+    if (targetShard == null || targetShard.remove(portalId) == null) {
+      return false;
+    }
+    this.dirtyShards.add(shardKey);
+    return true;
+  }
+
+  private boolean addTargetToShard(final PortalTargetData target) {
+    // Targets are stored next to their portal, or next to their destination if it is unknown.
+    ResourceKey<Level> shardKey =
+        this.portalDimensions.getOrDefault(target.portalId(), target.dimension());
+    ResourceKey<Level> previousShardKey = this.targetDimensions.put(target.portalId(), shardKey);
+    if (previousShardKey != null && !previousShardKey.equals(shardKey)) {
+      this.targetShards.get(previousShardKey).remove(target.portalId());
+      this.dirtyShards.add(previousShardKey);
+    }
+
+    // Each portal has at most one target, so an existing entry is replaced.
+    PortalTargetData previousTarget =
+        this.targetShards
+            .computeIfAbsent(shardKey, key -> new LinkedHashMap<>())
+            .put(target.portalId(), target);
+    if (target.equals(previousTarget)) {
+      return false;
+    }
+    this.dirtyShards.add(shardKey);
+    return true;
+  }
+
+  private void loadShards(final Path directory) {
+    this.shardDirectory = directory;
+    if (!Files.isDirectory(directory)) {
+      return;
+    }
+
+    // Shards are read after any legacy data, so their dirty state is kept for the migration.
+    Set<ResourceKey<Level>> migratedShards = new HashSet<>(this.dirtyShards);
+    List<PortalTargetData> loadedTargets = new ArrayList<>();
+    int loadedPortals = 0;
+    try (Stream<Path> files = Files.walk(directory)) {
+      for (Path shardFile :
+          files
+              .filter(Files::isRegularFile)
+              .filter(path -> path.toString().endsWith(SHARD_FILE_EXTENSION))
+              .toList()) {
+        try {
+          CompoundTag shardTag = NbtIo.readCompressed(shardFile, NbtAccounter.unlimitedHeap());
+          ResourceLocation dimensionLocation =
+              ResourceLocation.tryParse(shardTag.getString(DIMENSION_TAG));
+          if (dimensionLocation != null) {
+            // Older versions flattened nested dimension paths, these shards are moved on save.
+            ResourceKey<Level> dimension =
+                ResourceKey.create(Registries.DIMENSION, dimensionLocation);
+            if (!shardFile.equals(getShardFile(dimension))) {
+              this.staleShardFiles.add(shardFile);
+              migratedShards.add(dimension);
+              this.dirtyShards.add(dimension);
+            }
+          }
+          for (PortalInfoData portal : decodePortals(shardTag)) {
+            addPortalToShard(portal);
+            loadedPortals++;
+          }
+          loadedTargets.addAll(decodeTargets(shardTag));
+        } catch (IOException e) {
+          log.error("Failed to read portal shard {}: {}", shardFile, e.getMessage());
+        }
+      }
+    } catch (IOException e) {
+      log.error("Failed to list portal shards in {}: {}", directory, e.getMessage());
+    }
+    int duplicateTargets = 0;
+    for (PortalTargetData target : loadedTargets) {
+      boolean knownTarget = this.targetDimensions.containsKey(target.portalId());
+      if (addTargetToShard(target) && knownTarget) {
+        // Older versions stored a new entry for every re-link, keep only the latest one.
+        duplicateTargets++;
+        migratedShards.add(this.targetDimensions.get(target.portalId()));
+      }
+    }
+    this.dirtyShards.retainAll(migratedShards);
+    if (!this.staleShardFiles.isEmpty()) {
+      log.info("Moving {} portal shards to their new location.", this.staleShardFiles.size());
+      this.setDirty();
+    }
+    if (duplicateTargets > 0) {
+      log.info("Removed {} duplicate portal targets.", duplicateTargets);
+      this.setDirty();
+    }
+    log.info(
+        "Loaded {} portals and {} targets from dimension shards.",
+        loadedPortals,
+        loadedTargets.size() - duplicateTargets);
+  }
+
+  private <T> void appendJournal(final String operation, final Codec<T> codec, final T value) {
+    if (this.journal == null) {
+      return;
+    }
+    codec
+        .encodeStart(NbtOps.INSTANCE, value)
+        .resultOrPartial(error -> log.error("Failed to encode journal entry: {}", error))
+        .ifPresent(tag -> this.journal.append(operation, tag));
+  }
+
+  private void replayJournal() {
+    List<CompoundTag> entries = this.journal.read();
+    if (entries.isEmpty()) {
+      return;
+    }
+
+    // Changes after the last full save are applied again and folded into the next save.
+    for (CompoundTag entry : entries) {
+      Tag data = entry.get(MutationJournal.DATA_TAG);
+      switch (entry.getString(MutationJournal.OPERATION_TAG)) {
+        case ADD_PORTAL_OPERATION ->
+            decodeJournalData(PortalInfoData.CODEC, data).ifPresent(this::addPortalToShard);
+        case REMOVE_PORTAL_OPERATION ->
+            decodeJournalData(PortalInfoData.CODEC, data).ifPresent(this::removePortalFromShard);
+        case SET_TARGET_OPERATION ->
+            decodeJournalData(PortalTargetData.CODEC, data).ifPresent(this::addTargetToShard);
+        case REMOVE_TARGET_OPERATION ->
+            decodeJournalData(UUIDUtil.CODEC, data).ifPresent(this::removeTargetFromShard);
+        case CLEAR_OPERATION -> clearShards();
+        default -> log.warn("Unknown journal operation in entry: {}", entry);
+      }
+    }
+    log.info("Replayed {} portal changes from journal.", entries.size());
+    this.setDirty();
+  }
+
+  private static <T> Optional<T> decodeJournalData(final Codec<T> codec, final Tag data) {
+    return codec
+        .parse(NbtOps.INSTANCE, data)
+        .resultOrPartial(error -> log.error("Failed to decode journal entry: {}", error));
+  }
+
+  private boolean writeShard(
+      final ResourceKey<Level> dimension,
+      final List<PortalInfoData> portals,
+      final List<PortalTargetData> targets) {
+    Path shardFile = getShardFile(dimension);
+    try {
+      if (portals.isEmpty() && targets.isEmpty()) {
+        Files.deleteIfExists(shardFile);
+        return true;
+      }
+
+      CompoundTag shardTag = new CompoundTag();
+      shardTag.putString(DIMENSION_TAG, dimension.location().toString());
+      PortalInfoData.CODEC
+          .listOf()
+          .encodeStart(NbtOps.INSTANCE, portals)
+          .resultOrPartial(error -> log.error("Failed to encode portal data: {}", error))
+          .ifPresent(tag -> shardTag.put(PORTAL_TAG, tag));
+      PortalTargetData.CODEC
+          .listOf()
+          .encodeStart(NbtOps.INSTANCE, targets)
+          .resultOrPartial(error -> log.error("Failed to encode target data: {}", error))
+          .ifPresent(tag -> shardTag.put(TARGETS_TAG, tag));
+
+      Files.createDirectories(shardFile.getParent());
+      writeCompressedAtomic(shardTag, shardFile);
+      return true;
+    } catch (IOException e) {
+      log.error("Failed to write portal shard {}: {}", dimension.location(), e.getMessage());
+      this.dirtyShards.add(dimension);
+      this.shardWriteFailed.set(true);
+      this.setDirty();
+      return false;
+    }
+  }
+
+  private void deleteStaleShardFiles(final Set<Path> staleFiles, final Set<Path> shardFiles) {
+    for (Path staleFile : staleFiles) {
+      try {
+        if (!shardFiles.contains(staleFile)) {
+          Files.deleteIfExists(staleFile);
+        }
+        this.staleShardFiles.remove(staleFile);
+      } catch (IOException e) {
+        log.error("Failed to delete old portal shard {}: {}", staleFile, e.getMessage());
+      }
+    }
+  }
+
+  private Path getShardFile(final ResourceKey<Level> dimension) {
+    ResourceLocation location = dimension.location();
+    // Nested dimension paths are stored in sub-directories, so every dimension has its own file.
+    Path shardFile = this.shardDirectory.resolve(location.getNamespace());
+    String[] pathSegments = location.getPath().split("/", -1);
+    for (int index = 0; index < pathSegments.length - 1; index++) {
+      shardFile = shardFile.resolve(getShardPathSegment(pathSegments[index]));
+    }
+    return shardFile.resolve(
+        getShardPathSegment(pathSegments[pathSegments.length - 1]) + SHARD_FILE_EXTENSION);
+  }
+
+  private static String getShardPathSegment(final String pathSegment) {
+    // '%' is not allowed in resource locations, so escaped segments cannot collide.
+    if (pathSegment.isEmpty() || pathSegment.equals(".") || pathSegment.equals("..")) {
+      return "%" + pathSegment.replace(".", "%2e");
+    }
+    return pathSegment;
+  }
+
   @Override
-  public CompoundTag save(final CompoundTag compoundTag, final Provider provider) {
-    PortalInfoData.CODEC
-        .listOf()
-        .encodeStart(NbtOps.INSTANCE, portalList)
-        .resultOrPartial(error -> log.error("Failed to encode portal data: {}", error))
-        .ifPresent(tag -> compoundTag.put(PORTAL_TAG, tag));
+  protected void onSnapshotWritten() {
+    // All journaled changes are part of the written shards, unless one of them failed.
+    if (this.journal != null && !this.shardWriteFailed.getAndSet(false)) {
+      this.journal.truncate();
+    }
+  }
 
-    PortalTargetData.CODEC
-        .listOf()
-        .encodeStart(NbtOps.INSTANCE, targetList)
-        .resultOrPartial(error -> log.error("Failed to encode target data: {}", error))
-        .ifPresent(tag -> compoundTag.put(TARGETS_TAG, tag));
+  @Override
+  protected Supplier<CompoundTag> createSnapshot(final Provider provider) {
+    if (this.journal != null) {
+      this.journal.flush();
+    }
+
+    // Only dimension shards which have changed since the last save are captured and written.
+    Map<ResourceKey<Level>, List<PortalInfoData>> portalSnapshots = new HashMap<>();
+    Map<ResourceKey<Level>, List<PortalTargetData>> targetSnapshots = new HashMap<>();
+    Set<Path> staleFiles = Set.copyOf(this.staleShardFiles);
+    Set<Path> shardFiles = new HashSet<>();
+    if (this.shardDirectory != null) {
+      Set<ResourceKey<Level>> dimensions = new HashSet<>(this.portalShards.keySet());
+      dimensions.addAll(this.targetShards.keySet());
+      for (ResourceKey<Level> dimension : dimensions) {
+        Path shardFile = getShardFile(dimension);
+        shardFiles.add(shardFile);
+        if (staleFiles.contains(shardFile)) {
+          // The old file of another dimension is in the way and needs to be overwritten.
+          this.dirtyShards.add(dimension);
+        }
+      }
+      for (ResourceKey<Level> dimension : Set.copyOf(this.dirtyShards)) {
+        this.dirtyShards.remove(dimension);
+        portalSnapshots.put(
+            dimension, List.copyOf(this.portalShards.getOrDefault(dimension, List.of())));
+        targetSnapshots.put(
+            dimension, List.copyOf(this.targetShards.getOrDefault(dimension, Map.of()).values()));
+      }
+    }
+
+    return () -> {
+      boolean shardsWritten = true;
+      for (Map.Entry<ResourceKey<Level>, List<PortalInfoData>> entry :
+          portalSnapshots.entrySet()) {
+        shardsWritten &=
+            writeShard(entry.getKey(), entry.getValue(), targetSnapshots.get(entry.getKey()));
+      }
+
+      // Old shard files are only removed once their data has been written to the new location.
+      if (shardsWritten && !staleFiles.isEmpty()) {
+        deleteStaleShardFiles(staleFiles, shardFiles);
+      }
 
-    return compoundTag;
+      CompoundTag compoundTag = new CompoundTag();
+      compoundTag.put(PORTAL_TAG, new ListTag());
+      compoundTag.put(TARGETS_TAG, new ListTag());
+      return compoundTag;
+    };
   }
 }
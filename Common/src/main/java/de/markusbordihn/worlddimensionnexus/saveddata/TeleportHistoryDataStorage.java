@@ -20,37 +20,58 @@
 package de.markusbordihn.worlddimensionnexus.saveddata;
 
 import de.markusbordihn.worlddimensionnexus.Constants;
+import de.markusbordihn.worlddimensionnexus.data.teleport.TeleportHistoryBuffer;
 import de.markusbordihn.worlddimensionnexus.data.teleport.TeleportLocation;
 import de.markusbordihn.worlddimensionnexus.utils.ModLogger;
 import de.markusbordihn.worlddimensionnexus.utils.ModLogger.PrefixLogger;
-import java.util.ArrayList;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import net.minecraft.core.HolderLookup.Provider;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
-import net.minecraft.nbt.NbtOps;
+import net.minecraft.nbt.NbtAccounter;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.Tag;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.util.datafix.DataFixTypes;
 import net.minecraft.world.level.saveddata.SavedData;
+import net.minecraft.world.level.storage.LevelResource;
 
-public class TeleportHistoryDataStorage extends SavedData {
+public class TeleportHistoryDataStorage extends AsyncSavedData {
 
   public static final String DATA_NAME = Constants.MOD_ID + "_teleport_history";
   private static final PrefixLogger log =
       ModLogger.getPrefixLogger("[Teleport History Data Storage]");
   private static final String PLAYER_HISTORIES_TAG = "PlayerHistories";
+  private static final String HISTORY_TAG = "History";
+  private static final String SHARD_DIRECTORY = "teleport_history";
+  private static final String SHARD_FILE_EXTENSION = ".dat";
 
   private static TeleportHistoryDataStorage instance = null;
-  private final Map<UUID, List<TeleportLocation>> playerHistories;
+  private final Map<UUID, ListTag> legacyHistories;
+  private final Map<UUID, TeleportHistoryBuffer> loadedHistories = new ConcurrentHashMap<>();
+  private final Set<UUID> dirtyHistories = ConcurrentHashMap.newKeySet();
+  private final Map<UUID, ListTag> pendingHistoryWrites = new ConcurrentHashMap<>();
+  private Path shardDirectory;
 
-  public TeleportHistoryDataStorage(final Map<UUID, List<TeleportLocation>> playerHistories) {
+  public TeleportHistoryDataStorage(final Map<UUID, ListTag> legacyHistories) {
     log.info(
-        "Creating new Teleport History Data Storage with {} player histories.",
-        playerHistories.size());
-    this.playerHistories = new HashMap<>(playerHistories);
+        "Creating new Teleport History Data Storage with {} legacy player histories.",
+        legacyHistories.size());
+    this.legacyHistories = new ConcurrentHashMap<>(legacyHistories);
+
+    // Legacy histories are migrated into per-player shards with the next save.
+    if (!legacyHistories.isEmpty()) {
+      this.setDirty();
+    }
   }
 
   public static void init(final ServerLevel serverLevel) {
@@ -69,9 +90,20 @@ public class TeleportHistoryDataStorage extends SavedData {
     return instance;
   }
 
+  public static boolean isInitialized() {
+    return instance != null;
+  }
+
   public static TeleportHistoryDataStorage get(final ServerLevel level) {
     if (instance == null) {
       instance = level.getDataStorage().computeIfAbsent(factory(), DATA_NAME);
+      instance.shardDirectory =
+          level
+              .getServer()
+              .getWorldPath(LevelResource.ROOT)
+              .resolve("data")
+              .resolve(Constants.MOD_ID)
+              .resolve(SHARD_DIRECTORY);
     }
     return instance;
   }
@@ -85,29 +117,18 @@ public class TeleportHistoryDataStorage extends SavedData {
 
   public static TeleportHistoryDataStorage load(
       final CompoundTag compoundTag, final Provider provider) {
-    Map<UUID, List<TeleportLocation>> playerHistories = new HashMap<>();
+    Map<UUID, ListTag> legacyHistories = new HashMap<>();
 
+    // Older versions stored all player histories in this file.
     if (compoundTag.contains(PLAYER_HISTORIES_TAG)) {
       CompoundTag historiesTag = compoundTag.getCompound(PLAYER_HISTORIES_TAG);
 
       for (String playerIdString : historiesTag.getAllKeys()) {
         try {
           UUID playerId = UUID.fromString(playerIdString);
-          ListTag historyListTag = historiesTag.getList(playerIdString, 10);
-
-          List<TeleportLocation> history = new ArrayList<>();
-          for (int i = 0; i < historyListTag.size(); i++) {
-            CompoundTag locationTag = historyListTag.getCompound(i);
-
-            TeleportLocation.CODEC
-                .parse(NbtOps.INSTANCE, locationTag)
-                .resultOrPartial(
-                    error -> log.error("Failed to decode teleport location: {}", error))
-                .ifPresent(history::add);
-          }
-
-          if (!history.isEmpty()) {
-            playerHistories.put(playerId, history);
+          ListTag historyListTag = historiesTag.getList(playerIdString, Tag.TAG_COMPOUND);
+          if (!historyListTag.isEmpty()) {
+            legacyHistories.put(playerId, historyListTag);
           }
         } catch (Exception e) {
           log.error(
@@ -116,7 +137,7 @@ public class TeleportHistoryDataStorage extends SavedData {
       }
     }
 
-    return new TeleportHistoryDataStorage(playerHistories);
+    return new TeleportHistoryDataStorage(legacyHistories);
   }
 
   public static void clearInstance() {
@@ -124,52 +145,191 @@ public class TeleportHistoryDataStorage extends SavedData {
     instance = null;
   }
 
-  public void savePlayerHistory(final UUID playerId, final List<TeleportLocation> history) {
-    if (history.isEmpty()) {
-      this.playerHistories.remove(playerId);
-    } else {
-      this.playerHistories.put(playerId, new ArrayList<>(history));
-    }
+  public TeleportHistoryBuffer getPlayerHistory(final UUID playerId, final int capacity) {
+    return this.loadedHistories.computeIfAbsent(
+        playerId,
+        id -> {
+          ListTag storedHistory = readPlayerHistory(id);
+          return storedHistory != null
+              ? TeleportHistoryBuffer.fromListTag(storedHistory, capacity)
+              : new TeleportHistoryBuffer(capacity);
+        });
+  }
+
+  public void markPlayerHistoryChanged(final UUID playerId) {
+    this.dirtyHistories.add(playerId);
     this.setDirty();
   }
 
-  public List<TeleportLocation> getPlayerHistory(final UUID playerId) {
-    return new ArrayList<>(this.playerHistories.getOrDefault(playerId, new ArrayList<>()));
+  public void unloadPlayerHistory(final UUID playerId) {
+    TeleportHistoryBuffer history = this.loadedHistories.get(playerId);
+    if (history != null && this.dirtyHistories.remove(playerId)) {
+      submitPlayerHistoryWrite(playerId, history.toListTag());
+    }
+    this.loadedHistories.remove(playerId);
+  }
+
+  public void flushLoadedHistories() {
+    for (Map.Entry<UUID, TeleportHistoryBuffer> entry : this.loadedHistories.entrySet()) {
+      if (this.dirtyHistories.remove(entry.getKey())) {
+        submitPlayerHistoryWrite(entry.getKey(), entry.getValue().toListTag());
+      }
+    }
   }
 
   public void clearPlayerHistory(final UUID playerId) {
-    if (this.playerHistories.remove(playerId) != null) {
-      this.setDirty();
+    TeleportHistoryBuffer history = this.loadedHistories.remove(playerId);
+    boolean removed = this.legacyHistories.remove(playerId) != null;
+    if (history != null && !history.isEmpty()) {
+      history.clear();
+      removed = true;
+    }
+    this.dirtyHistories.remove(playerId);
+    this.pendingHistoryWrites.remove(playerId);
+    Path shardFile = getShardFile(playerId);
+    if (shardFile != null && Files.exists(shardFile)) {
+      submitWrite(() -> deletePlayerHistory(playerId));
+      removed = true;
+    }
+    if (removed) {
       log.info("Cleared teleport history for player: {}", playerId);
     }
   }
 
   public Map<UUID, List<TeleportLocation>> getAllPlayerHistories() {
-    return new HashMap<>(this.playerHistories);
+    Map<UUID, List<TeleportLocation>> playerHistories = new HashMap<>();
+    for (Map.Entry<UUID, ListTag> entry : this.legacyHistories.entrySet()) {
+      ListTag storedHistory = entry.getValue();
+      playerHistories.put(
+          entry.getKey(),
+          TeleportHistoryBuffer.fromListTag(storedHistory, storedHistory.size()).toList());
+    }
+    for (Map.Entry<UUID, TeleportHistoryBuffer> entry : this.loadedHistories.entrySet()) {
+      playerHistories.put(entry.getKey(), entry.getValue().toList());
+    }
+    return playerHistories;
+  }
+
+  private ListTag readPlayerHistory(final UUID playerId) {
+    ListTag legacyHistory = this.legacyHistories.remove(playerId);
+    if (legacyHistory != null) {
+      this.dirtyHistories.add(playerId);
+      return legacyHistory;
+    }
+
+    // Histories which are still queued for writing are newer than their shard file.
+    ListTag pendingHistory = this.pendingHistoryWrites.get(playerId);
+    if (pendingHistory != null) {
+      return pendingHistory;
+    }
+
+    Path shardFile = getShardFile(playerId);
+    if (shardFile == null || !Files.exists(shardFile)) {
+      return null;
+    }
+    try {
+      CompoundTag shardTag = NbtIo.readCompressed(shardFile, NbtAccounter.unlimitedHeap());
+      return shardTag.getList(HISTORY_TAG, Tag.TAG_COMPOUND);
+    } catch (IOException e) {
+      log.error("Failed to read teleport history for player {}: {}", playerId, e.getMessage());
+      return null;
+    }
+  }
+
+  private boolean writePlayerHistory(final UUID playerId, final ListTag historyListTag) {
+    if (historyListTag.isEmpty()) {
+      deletePlayerHistory(playerId);
+      return true;
+    }
+
+    Path shardFile = getShardFile(playerId);
+    if (shardFile == null) {
+      return false;
+    }
+    CompoundTag shardTag = new CompoundTag();
+    shardTag.put(HISTORY_TAG, historyListTag);
+    try {
+      Files.createDirectories(this.shardDirectory);
+      writeCompressedAtomic(shardTag, shardFile);
+      return true;
+    } catch (IOException e) {
+      log.error("Failed to write teleport history for player {}: {}", playerId, e.getMessage());
+      return false;
+    }
+  }
+
+  private boolean keepFailedPlayerHistory(final UUID playerId, final ListTag historyListTag) {
+    // Cleared or newer histories replace the failed one, otherwise it is written again later.
+    if (!this.pendingHistoryWrites.remove(playerId, historyListTag)) {
+      return false;
+    }
+    if (this.loadedHistories.containsKey(playerId)) {
+      this.dirtyHistories.add(playerId);
+    } else {
+      this.legacyHistories.putIfAbsent(playerId, historyListTag);
+    }
+    this.setDirty();
+    return true;
+  }
+
+  private void submitPlayerHistoryWrite(final UUID playerId, final ListTag historyListTag) {
+    this.pendingHistoryWrites.put(playerId, historyListTag);
+    submitWrite(
+        () -> {
+          if (writePlayerHistory(playerId, historyListTag)) {
+            this.pendingHistoryWrites.remove(playerId, historyListTag);
+          } else {
+            keepFailedPlayerHistory(playerId, historyListTag);
+          }
+        });
+  }
+
+  private boolean deletePlayerHistory(final UUID playerId) {
+    Path shardFile = getShardFile(playerId);
+    try {
+      return shardFile != null && Files.deleteIfExists(shardFile);
+    } catch (IOException e) {
+      log.error("Failed to delete teleport history for player {}: {}", playerId, e.getMessage());
+      return false;
+    }
+  }
+
+  private Path getShardFile(final UUID playerId) {
+    return this.shardDirectory != null
+        ? this.shardDirectory.resolve(playerId + SHARD_FILE_EXTENSION)
+        : null;
   }
 
   @Override
-  public CompoundTag save(final CompoundTag compoundTag, final Provider provider) {
-    CompoundTag historiesTag = new CompoundTag();
-
-    for (Map.Entry<UUID, List<TeleportLocation>> entry : this.playerHistories.entrySet()) {
-      String playerIdString = entry.getKey().toString();
-      List<TeleportLocation> history = entry.getValue();
-
-      ListTag historyListTag = new ListTag();
-      for (TeleportLocation location : history) {
-        TeleportLocation.CODEC
-            .encodeStart(NbtOps.INSTANCE, location)
-            .resultOrPartial(error -> log.error("Failed to encode teleport location: {}", error))
-            .ifPresent(historyListTag::add);
-      }
+  protected Supplier<CompoundTag> createSnapshot(final Provider provider) {
+    // Migrate remaining legacy histories into their own shards.
+    Map<UUID, ListTag> historySnapshots = new HashMap<>(this.legacyHistories);
+    this.legacyHistories.clear();
 
-      if (!historyListTag.isEmpty()) {
-        historiesTag.put(playerIdString, historyListTag);
+    // Only shards which have changed since the last save are captured and written.
+    for (UUID playerId : Set.copyOf(this.dirtyHistories)) {
+      this.dirtyHistories.remove(playerId);
+      TeleportHistoryBuffer history = this.loadedHistories.get(playerId);
+      if (history != null) {
+        historySnapshots.put(playerId, history.toListTag());
       }
     }
+    this.pendingHistoryWrites.putAll(historySnapshots);
+
+    return () -> {
+      // Histories without a written shard stay in this file, so they are never lost.
+      CompoundTag historiesTag = new CompoundTag();
+      for (Map.Entry<UUID, ListTag> entry : historySnapshots.entrySet()) {
+        if (writePlayerHistory(entry.getKey(), entry.getValue())) {
+          this.pendingHistoryWrites.remove(entry.getKey(), entry.getValue());
+        } else if (keepFailedPlayerHistory(entry.getKey(), entry.getValue())) {
+          historiesTag.put(entry.getKey().toString(), entry.getValue());
+        }
+      }
 
-    compoundTag.put(PLAYER_HISTORIES_TAG, historiesTag);
-    return compoundTag;
+      CompoundTag compoundTag = new CompoundTag();
+      compoundTag.put(PLAYER_HISTORIES_TAG, historiesTag);
+      return compoundTag;
+    };
   }
 }
@@ -21,14 +21,20 @@ package de.markusbordihn.worlddimensionnexus.server;
 
 import de.markusbordihn.worlddimensionnexus.Constants;
 import de.markusbordihn.worlddimensionnexus.dimension.DimensionManager;
+import de.markusbordihn.worlddimensionnexus.dimension.DimensionPoolManager;
+import de.markusbordihn.worlddimensionnexus.dimension.DimensionPregenManager;
+import de.markusbordihn.worlddimensionnexus.dimension.DimensionUnloadManager;
 import de.markusbordihn.worlddimensionnexus.portal.PortalManager;
 import de.markusbordihn.worlddimensionnexus.portal.PortalTargetManager;
 import de.markusbordihn.worlddimensionnexus.resources.WorldDataPackResourceManager;
+import de.markusbordihn.worlddimensionnexus.saveddata.AsyncSavedData;
 import de.markusbordihn.worlddimensionnexus.saveddata.AutoTeleportDataStorage;
 import de.markusbordihn.worlddimensionnexus.saveddata.DimensionDataStorage;
+import de.markusbordihn.worlddimensionnexus.saveddata.MutationJournal;
 import de.markusbordihn.worlddimensionnexus.saveddata.PortalDataStorage;
 import de.markusbordihn.worlddimensionnexus.saveddata.TeleportHistoryDataStorage;
 import de.markusbordihn.worlddimensionnexus.teleport.AutoTeleportManager;
+import de.markusbordihn.worlddimensionnexus.teleport.TeleportAuditLog;
 import de.markusbordihn.worlddimensionnexus.teleport.TeleportHistory;
 import de.markusbordihn.worlddimensionnexus.teleport.TeleportManager;
 import de.markusbordihn.worlddimensionnexus.utils.CacheManager;
@@ -69,6 +75,9 @@ public class ServerEvents {
     TeleportHistoryDataStorage.init(overworld);
     TeleportHistory.initialize(overworld);
 
+    // Open the append-only teleport audit log.
+    TeleportAuditLog.initialize(minecraftServer);
+
     // Synchronize Dimension Data Storage to Dimension Manager and register all dimensions.
     DimensionManager.sync(minecraftServer, DimensionDataStorage.get().getDimensions());
   }
@@ -88,15 +97,43 @@ public class ServerEvents {
 
     // Copy example dimension files to world folder.
     WorldDataPackResourceManager.copyDimensionFilesToWorld(minecraftServer);
+
+    // Load the pre-generated dimensions, the pool is refilled in the background.
+    DimensionPoolManager.initialize(minecraftServer);
+
+    // Resume chunk pregeneration which was interrupted by the last shutdown.
+    DimensionPregenManager.initialize(minecraftServer);
   }
 
   public static void handleServerStoppingEvent(final MinecraftServer minecraftServer) {
     log.info("Server stopping {} ...", minecraftServer);
 
+    // Flush and close the teleport audit log.
+    TeleportAuditLog.close();
+
+    // Write the histories of online players, they log out after the storage has been released.
+    TeleportHistory.saveAllHistory();
+
+    // Discard a pool dimension which is still being generated.
+    DimensionPoolManager.close();
+
+    // Persist the chunk pregeneration progress.
+    DimensionPregenManager.close();
+
+    // Persist remaining portal and dimension changes.
+    MutationJournal.closeAll();
+
     // Clear all static caches when server stops
     CacheManager.clearAllCaches();
   }
 
+  public static void handleServerStoppedEvent(final MinecraftServer minecraftServer) {
+    log.info("Server stopped {} ...", minecraftServer);
+
+    // Make sure all saved data has been written before the server exits.
+    AsyncSavedData.awaitPendingWrites();
+  }
+
   public static void handleServerTickPreEvent(final MinecraftServer minecraftServer) {
     if (serverTickPreCounter++ >= 20) {
       // Unuseful for now, but might be used in the future.
@@ -105,8 +142,19 @@ public class ServerEvents {
   }
 
   public static void handleServerTickPostEvent(final MinecraftServer minecraftServer) {
+    // Persist the portal and dimension changes of this tick as one batch.
+    MutationJournal.flushAll();
+
+    DimensionPoolManager.processRefill(minecraftServer);
+    DimensionPregenManager.processPregen(minecraftServer);
+
+    AutoTeleportManager.processPendingLogins(minecraftServer);
+    AutoTeleportManager.processExecutionRecordCompaction(minecraftServer);
+    TeleportAuditLog.processFlush(minecraftServer);
+
     if (serverTickPostCounter++ >= 20) {
       TeleportManager.processCountdownTeleports();
+      DimensionUnloadManager.processIdleDimensions(minecraftServer);
       serverTickPostCounter = 0;
     }
   }
@@ -143,7 +143,10 @@ public class AutoTeleportCommand extends Command {
                                                         context, "enabled")))))))
         .then(Commands.literal("list").executes(context -> listAutoTeleports(context.getSource())))
         .then(
-            Commands.literal("clear").executes(context -> clearAutoTeleports(context.getSource())));
+            Commands.literal("clear").executes(context -> clearAutoTeleports(context.getSource())))
+        .then(
+            Commands.literal("compact")
+                .executes(context -> compactAutoTeleportRecords(context.getSource())));
   }
 
   private static int addAutoTeleportWithSpawn(
@@ -337,4 +340,22 @@ public class AutoTeleportCommand extends Command {
     AutoTeleportManager.clearAllAutoTeleports();
     return sendSuccessMessage(source, "Cleared all auto-teleport rules for all players.");
   }
+
+  private static int compactAutoTeleportRecords(final CommandSourceStack source) {
+    boolean started =
+        AutoTeleportManager.compactExecutionRecords(
+            source.getServer(),
+            compactionResult ->
+                sendSuccessMessage(
+                    source,
+                    String.format(
+                        "Compacted %d execution records and %d player entries, saved %d bytes.",
+                        compactionResult.compactedRecords(),
+                        compactionResult.removedPlayers(),
+                        compactionResult.bytesSaved())));
+    if (!started) {
+      return sendFailureMessage(source, "Execution record compaction is already running.");
+    }
+    return sendSuccessMessage(source, "Started compaction of auto-teleport execution records.");
+  }
 }
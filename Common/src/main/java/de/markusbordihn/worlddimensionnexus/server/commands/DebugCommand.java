@@ -24,6 +24,11 @@ import com.mojang.brigadier.builder.ArgumentBuilder;
 import de.markusbordihn.worlddimensionnexus.Constants;
 import de.markusbordihn.worlddimensionnexus.commands.Command;
 import de.markusbordihn.worlddimensionnexus.debug.DebugManager;
+import de.markusbordihn.worlddimensionnexus.dimension.DimensionPoolManager;
+import de.markusbordihn.worlddimensionnexus.dimension.DimensionPregenManager;
+import de.markusbordihn.worlddimensionnexus.dimension.DimensionUnloadManager;
+import de.markusbordihn.worlddimensionnexus.levelgen.FloatingIslandsChunkGenerator;
+import de.markusbordihn.worlddimensionnexus.saveddata.AsyncSavedData;
 import net.minecraft.ChatFormatting;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
@@ -43,7 +48,43 @@ public class DebugCommand extends Command {
                             context ->
                                 setDebug(
                                     context.getSource(),
-                                    BoolArgumentType.getBool(context, "enable")))));
+                                    BoolArgumentType.getBool(context, "enable")))))
+        .then(
+            Commands.literal("saves")
+                .executes(context -> showSaveMetrics(context.getSource())))
+        .then(
+            Commands.literal("dimensions")
+                .executes(context -> showDimensionMetrics(context.getSource())))
+        .then(
+            Commands.literal("worldgen")
+                .executes(context -> showWorldgenMetrics(context.getSource())));
+  }
+
+  public static int showWorldgenMetrics(final CommandSourceStack context) {
+    return sendSuccessMessage(
+        context,
+        "Floating islands: " + FloatingIslandsChunkGenerator.getMetricsSummary(),
+        ChatFormatting.YELLOW);
+  }
+
+  public static int showDimensionMetrics(final CommandSourceStack context) {
+    sendSuccessMessage(
+        context,
+        "Dimension unloading: " + DimensionUnloadManager.getMetricsSummary(),
+        ChatFormatting.YELLOW);
+    sendSuccessMessage(
+        context,
+        "Dimension pool: " + DimensionPoolManager.getMetricsSummary(),
+        ChatFormatting.YELLOW);
+    return sendSuccessMessage(
+        context,
+        "Chunk pregeneration: " + DimensionPregenManager.getMetricsSummary(),
+        ChatFormatting.YELLOW);
+  }
+
+  public static int showSaveMetrics(final CommandSourceStack context) {
+    return sendSuccessMessage(
+        context, "Saved data: " + AsyncSavedData.getMetricsSummary(), ChatFormatting.YELLOW);
   }
 
   public static int setDebug(final CommandSourceStack context, final boolean enable) {
@@ -19,15 +19,20 @@
 
 package de.markusbordihn.worlddimensionnexus.server.commands;
 
+import com.mojang.brigadier.arguments.IntegerArgumentType;
 import com.mojang.brigadier.arguments.StringArgumentType;
 import com.mojang.brigadier.builder.ArgumentBuilder;
 import de.markusbordihn.worlddimensionnexus.Constants;
 import de.markusbordihn.worlddimensionnexus.commands.Command;
+import de.markusbordihn.worlddimensionnexus.config.DimensionConfig;
 import de.markusbordihn.worlddimensionnexus.data.chunk.ChunkGeneratorType;
 import de.markusbordihn.worlddimensionnexus.data.dimension.DimensionInfoData;
 import de.markusbordihn.worlddimensionnexus.data.worldgen.WorldgenConfigLoader;
 import de.markusbordihn.worlddimensionnexus.data.worldgen.WorldgenInitializer;
 import de.markusbordihn.worlddimensionnexus.dimension.DimensionManager;
+import de.markusbordihn.worlddimensionnexus.dimension.DimensionPregenManager;
+import de.markusbordihn.worlddimensionnexus.dimension.DimensionSnapshotManager;
+import de.markusbordihn.worlddimensionnexus.dimension.DimensionTemplateManager;
 import de.markusbordihn.worlddimensionnexus.dimension.io.DimensionExporter;
 import de.markusbordihn.worlddimensionnexus.dimension.io.DimensionImporter;
 import de.markusbordihn.worlddimensionnexus.resources.WorldDataPackResourceManager;
@@ -42,7 +47,6 @@ import net.minecraft.commands.arguments.coordinates.BlockPosArgument;
 import net.minecraft.core.BlockPos;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.server.MinecraftServer;
-import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.GameType;
 import net.minecraft.world.level.Level;
 
@@ -210,6 +214,97 @@ public class DimensionCommand extends Command {
                                                     StringArgumentType.getString(context, "name"),
                                                     StringArgumentType.getString(
                                                         context, "type")))))))
+        .then(
+            Commands.literal("snapshot")
+                .requires(cs -> cs.hasPermission(Commands.LEVEL_ADMINS))
+                .then(
+                    Commands.argument("name", StringArgumentType.word())
+                        .suggests(DimensionSuggestion.DIMENSION_NAMES)
+                        .executes(
+                            context ->
+                                snapshotDimension(
+                                    context.getSource(),
+                                    StringArgumentType.getString(context, "name")))))
+        .then(
+            Commands.literal("reset")
+                .requires(cs -> cs.hasPermission(Commands.LEVEL_ADMINS))
+                .then(
+                    Commands.argument("name", StringArgumentType.word())
+                        .suggests(DimensionSuggestion.DIMENSION_NAMES)
+                        .executes(
+                            context ->
+                                resetDimension(
+                                    context.getSource(),
+                                    StringArgumentType.getString(context, "name")))))
+        .then(
+            Commands.literal("pregen")
+                .requires(cs -> cs.hasPermission(Commands.LEVEL_ADMINS))
+                .then(
+                    Commands.argument("name", StringArgumentType.word())
+                        .suggests(DimensionSuggestion.DIMENSION_NAMES)
+                        .executes(
+                            context ->
+                                showPregenStatus(
+                                    context.getSource(),
+                                    StringArgumentType.getString(context, "name")))
+                        .then(
+                            Commands.literal("stop")
+                                .executes(
+                                    context ->
+                                        stopPregen(
+                                            context.getSource(),
+                                            StringArgumentType.getString(context, "name"))))
+                        .then(
+                            Commands.argument("radius", IntegerArgumentType.integer(0))
+                                .executes(
+                                    context ->
+                                        startPregen(
+                                            context.getSource(),
+                                            StringArgumentType.getString(context, "name"),
+                                            IntegerArgumentType.getInteger(context, "radius"))))))
+        .then(
+            Commands.literal("template")
+                .requires(cs -> cs.hasPermission(Commands.LEVEL_ADMINS))
+                .then(
+                    Commands.literal("list")
+                        .executes(context -> listDimensionTemplates(context.getSource())))
+                .then(
+                    Commands.literal("save")
+                        .then(
+                            Commands.argument("name", StringArgumentType.word())
+                                .suggests(DimensionSuggestion.DIMENSION_NAMES)
+                                .then(
+                                    Commands.argument("template", StringArgumentType.word())
+                                        .executes(
+                                            context ->
+                                                saveDimensionTemplate(
+                                                    context.getSource(),
+                                                    StringArgumentType.getString(context, "name"),
+                                                    StringArgumentType.getString(
+                                                        context, "template"))))))
+                .then(
+                    Commands.literal("instance")
+                        .then(
+                            Commands.argument("template", StringArgumentType.word())
+                                .suggests(
+                                    (context, builder) -> {
+                                      for (String templateName :
+                                          DimensionTemplateManager.getTemplateNames(
+                                              context.getSource().getServer())) {
+                                        builder.suggest(templateName);
+                                      }
+                                      return builder.buildFuture();
+                                    })
+                                .then(
+                                    Commands.argument("name", StringArgumentType.word())
+                                        .executes(
+                                            context ->
+                                                createDimensionFromTemplate(
+                                                    context.getSource(),
+                                                    StringArgumentType.getString(
+                                                        context, "template"),
+                                                    StringArgumentType.getString(
+                                                        context, "name")))))))
         .then(
             Commands.literal("types")
                 .requires(cs -> cs.hasPermission(Commands.LEVEL_MODERATORS))
@@ -232,7 +327,11 @@ public class DimensionCommand extends Command {
     }
     sendSuccessMessage(context, "Dimensions\n===========");
     for (ResourceKey<Level> dimension : dimensions) {
-      sendSuccessMessage(context, "- " + dimension.location());
+      sendSuccessMessage(
+          context,
+          "- "
+              + dimension.location()
+              + (DimensionManager.isDimensionActive(dimension) ? "" : " (inactive)"));
     }
     return Command.SINGLE_SUCCESS;
   }
@@ -241,21 +340,180 @@ public class DimensionCommand extends Command {
       final CommandSourceStack context, final String dimensionName, final ChunkGeneratorType type) {
     DimensionInfoData dimensionInfo =
         DimensionInfoData.fromDimensionNameAndType(dimensionName, type);
-    ServerLevel serverLevel = DimensionManager.addOrCreateDimension(dimensionInfo, true);
-    if (serverLevel != null) {
-      return sendSuccessMessage(context, "Dimension '" + dimensionName + "' created successfully!");
-    }
-    return sendFailureMessage(context, "Failed to create dimension '" + dimensionName + "'!");
+    return createDimensionAsync(
+        context,
+        dimensionInfo,
+        "Dimension '" + dimensionName + "' created successfully!",
+        "Failed to create dimension '" + dimensionName + "'!");
+  }
+
+  private static int createDimensionAsync(
+      final CommandSourceStack context,
+      final DimensionInfoData dimensionInfo,
+      final String successMessage,
+      final String failureMessage) {
+    sendSuccessMessage(
+        context, "Creating dimension " + dimensionInfo.getDimensionKey().location() + " ...");
+    DimensionManager.addOrCreateDimensionAsync(dimensionInfo)
+        .whenComplete(
+            (serverLevel, throwable) -> {
+              if (throwable == null && serverLevel != null) {
+                sendSuccessMessage(context, successMessage);
+              } else {
+                sendFailureMessage(context, failureMessage);
+              }
+            });
+    return Command.SINGLE_SUCCESS;
   }
 
   public static int removeDimension(final CommandSourceStack source, final String name) {
     if (DimensionManager.removeDimension(name)) {
+      String dataStatus;
+      if (DimensionConfig.PREVENT_DIMENSION_DELETION) {
+        dataStatus = "data remains";
+      } else if (DimensionConfig.BACKUP_DELETED_DIMENSIONS) {
+        dataStatus = "data archived";
+      } else {
+        dataStatus = "data deleted";
+      }
       return sendSuccessMessage(
-          source, "Dimension '" + name + "' was removed from server (data remains).");
+          source, "Dimension '" + name + "' was removed from server (" + dataStatus + ").");
     }
     return sendFailureMessage(source, "Dimension '" + name + "' could not be removed.");
   }
 
+  public static int snapshotDimension(final CommandSourceStack context, final String name) {
+    sendSuccessMessage(context, "Creating snapshot of dimension '" + name + "' ...");
+    DimensionSnapshotManager.createSnapshot(context.getServer(), name)
+        .whenComplete(
+            (created, throwable) -> {
+              if (throwable == null && Boolean.TRUE.equals(created)) {
+                sendSuccessMessage(context, "Snapshot of dimension '" + name + "' created.");
+              } else {
+                sendFailureMessage(
+                    context, "Failed to create snapshot of dimension '" + name + "'!");
+              }
+            });
+    return Command.SINGLE_SUCCESS;
+  }
+
+  public static int resetDimension(final CommandSourceStack context, final String name) {
+    sendSuccessMessage(context, "Resetting dimension '" + name + "' to its snapshot ...");
+    DimensionSnapshotManager.resetDimension(context.getServer(), name)
+        .whenComplete(
+            (reset, throwable) -> {
+              if (throwable == null && Boolean.TRUE.equals(reset)) {
+                sendSuccessMessage(
+                    context, "Dimension '" + name + "' was reset to its snapshot.");
+              } else {
+                sendFailureMessage(context, "Failed to reset dimension '" + name + "'!");
+              }
+            });
+    return Command.SINGLE_SUCCESS;
+  }
+
+  public static int startPregen(
+      final CommandSourceStack context, final String name, final int radius) {
+    if (radius > DimensionConfig.DIMENSION_PREGEN_MAX_RADIUS) {
+      return sendFailureMessage(
+          context,
+          "Radius "
+              + radius
+              + " exceeds the maximum pregeneration radius of "
+              + DimensionConfig.DIMENSION_PREGEN_MAX_RADIUS
+              + " chunks!");
+    }
+    if (DimensionPregenManager.startPregen(context.getServer(), name, radius)) {
+      return sendSuccessMessage(
+          context,
+          "Pregenerating dimension '"
+              + name
+              + "' with a radius of "
+              + radius
+              + " chunks, use '/"
+              + Constants.MOD_COMMAND
+              + " dimension pregen "
+              + name
+              + "' to show the progress.");
+    }
+    return sendFailureMessage(context, "Failed to pregenerate dimension '" + name + "'!");
+  }
+
+  public static int stopPregen(final CommandSourceStack context, final String name) {
+    if (DimensionPregenManager.stopPregen(name)) {
+      return sendSuccessMessage(context, "Stopped pregeneration of dimension '" + name + "'.");
+    }
+    return sendFailureMessage(context, "Dimension '" + name + "' is not being pregenerated.");
+  }
+
+  public static int showPregenStatus(final CommandSourceStack context, final String name) {
+    String status = DimensionPregenManager.getStatus(name);
+    if (status == null) {
+      return sendFailureMessage(context, "Dimension '" + name + "' is not being pregenerated.");
+    }
+    return sendSuccessMessage(context, "Pregeneration of '" + name + "': " + status);
+  }
+
+  public static int listDimensionTemplates(final CommandSourceStack context) {
+    List<String> templateNames = DimensionTemplateManager.getTemplateNames(context.getServer());
+    if (templateNames.isEmpty()) {
+      return sendFailureMessage(context, "No dimension templates available.");
+    }
+    sendSuccessMessage(context, "Dimension Templates\n===================");
+    for (String templateName : templateNames) {
+      sendSuccessMessage(context, "- " + templateName);
+    }
+    return Command.SINGLE_SUCCESS;
+  }
+
+  public static int saveDimensionTemplate(
+      final CommandSourceStack context, final String dimensionName, final String templateName) {
+    sendSuccessMessage(
+        context, "Saving dimension '" + dimensionName + "' as template '" + templateName + "' ...");
+    DimensionTemplateManager.saveTemplate(context.getServer(), dimensionName, templateName)
+        .whenComplete(
+            (saved, throwable) -> {
+              if (throwable == null && Boolean.TRUE.equals(saved)) {
+                sendSuccessMessage(
+                    context,
+                    "Dimension '" + dimensionName + "' saved as template '" + templateName + "'.");
+              } else {
+                sendFailureMessage(
+                    context, "Failed to save dimension '" + dimensionName + "' as template!");
+              }
+            });
+    return Command.SINGLE_SUCCESS;
+  }
+
+  public static int createDimensionFromTemplate(
+      final CommandSourceStack context, final String templateName, final String dimensionName) {
+    sendSuccessMessage(
+        context,
+        "Creating dimension '" + dimensionName + "' from template '" + templateName + "' ...");
+    DimensionTemplateManager.createInstance(context.getServer(), templateName, dimensionName)
+        .whenComplete(
+            (serverLevel, throwable) -> {
+              if (throwable == null && serverLevel != null) {
+                sendSuccessMessage(
+                    context,
+                    "Dimension '"
+                        + dimensionName
+                        + "' created from template '"
+                        + templateName
+                        + "'.");
+              } else {
+                sendFailureMessage(
+                    context,
+                    "Failed to create dimension '"
+                        + dimensionName
+                        + "' from template '"
+                        + templateName
+                        + "'!");
+              }
+            });
+    return Command.SINGLE_SUCCESS;
+  }
+
   public static int infoDimension(final CommandSourceStack source, final String name) {
     DimensionInfoData info = DimensionManager.getDimensionInfoData(name);
     if (info == null) {
@@ -322,18 +580,11 @@ public class DimensionCommand extends Command {
     ChunkGeneratorType type = ChunkGeneratorType.fromString(typeName);
     DimensionInfoData dimensionInfo =
         DimensionInfoData.fromDimensionNameAndType(dimensionName, type);
-    ServerLevel serverLevel = DimensionManager.addOrCreateDimension(dimensionInfo, true);
-
-    if (serverLevel != null) {
-      return sendSuccessMessage(
-          context,
-          String.format(
-              "Dimension '%s' created successfully with type '%s'!",
-              dimensionName, type.getName()));
-    }
-
-    return sendFailureMessage(
+    return createDimensionAsync(
         context,
+        dimensionInfo,
+        String.format(
+            "Dimension '%s' created successfully with type '%s'!", dimensionName, type.getName()),
         String.format("Failed to create dimension '%s' with type '%s'!", dimensionName, typeName));
   }
 
@@ -352,17 +603,12 @@ public class DimensionCommand extends Command {
           context, "Invalid gametype. Use: survival, creative, adventure, or spectator.");
     }
 
-    ServerLevel serverLevel =
-        DimensionManager.addOrCreateDimension(dimensionInfo.withGameType(gameType), true);
-    if (serverLevel != null) {
-      return sendSuccessMessage(
-          context,
-          String.format(
-              "Dimension '%s' created successfully with type '%s' and gametype '%s'!",
-              dimensionName, type.getName(), gameType.getName()));
-    }
-    return sendFailureMessage(
+    return createDimensionAsync(
         context,
+        dimensionInfo.withGameType(gameType),
+        String.format(
+            "Dimension '%s' created successfully with type '%s' and gametype '%s'!",
+            dimensionName, type.getName(), gameType.getName()),
         String.format("Failed to create dimension '%s' with type '%s'!", dimensionName, typeName));
   }
 
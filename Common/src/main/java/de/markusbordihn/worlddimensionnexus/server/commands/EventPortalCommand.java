@@ -27,6 +27,7 @@ import de.markusbordihn.worlddimensionnexus.commands.Command;
 import de.markusbordihn.worlddimensionnexus.data.portal.PortalInfoData;
 import de.markusbordihn.worlddimensionnexus.data.portal.PortalTargetData;
 import de.markusbordihn.worlddimensionnexus.data.portal.PortalType;
+import de.markusbordihn.worlddimensionnexus.dimension.DimensionManager;
 import de.markusbordihn.worlddimensionnexus.portal.PortalCreator;
 import de.markusbordihn.worlddimensionnexus.portal.PortalManager;
 import de.markusbordihn.worlddimensionnexus.portal.PortalTargetManager;
@@ -298,7 +299,7 @@ public class EventPortalCommand extends Command {
       return sendFailureMessage(source, ERROR_NOT_EVENT_PORTAL);
     }
 
-    ServerLevel serverLevel = source.getServer().getLevel(portalInfo.dimension());
+    ServerLevel serverLevel = DimensionManager.getOrActivateLevel(portalInfo.dimension());
     if (serverLevel != null) {
       PortalBlockManager.destroyPortal(serverLevel, source.getPlayer(), portalInfo);
     }
@@ -335,7 +336,7 @@ public class EventPortalCommand extends Command {
       return sendFailureMessage(source, ERROR_NOT_EVENT_PORTAL);
     }
 
-    ServerLevel serverLevel = source.getServer().getLevel(portalInfo.dimension());
+    ServerLevel serverLevel = DimensionManager.getOrActivateLevel(portalInfo.dimension());
     if (serverLevel != null) {
       PortalBlockManager.destroyPortal(serverLevel, source.getPlayer(), portalInfo);
     }
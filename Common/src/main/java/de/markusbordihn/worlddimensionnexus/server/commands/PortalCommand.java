@@ -503,6 +503,7 @@ public class PortalCommand extends Command {
       return sendFailureMessage(source, PORTAL_NOT_FOUND + position.toShortString());
     }
 
+    TeleportManager.recordTeleportAudit(targetPlayer, level, portal.origin().above());
     targetPlayer.teleportTo(
         level,
         portal.origin().getX() + 0.5,
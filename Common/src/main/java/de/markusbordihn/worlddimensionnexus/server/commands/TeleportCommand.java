@@ -19,30 +19,47 @@
 
 package de.markusbordihn.worlddimensionnexus.server.commands;
 
+import com.mojang.authlib.GameProfile;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
 import com.mojang.brigadier.builder.ArgumentBuilder;
 import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import de.markusbordihn.worlddimensionnexus.commands.Command;
+import de.markusbordihn.worlddimensionnexus.data.teleport.TeleportAuditEntry;
 import de.markusbordihn.worlddimensionnexus.server.commands.suggestions.DimensionSuggestion;
+import de.markusbordihn.worlddimensionnexus.teleport.TeleportAuditLog;
 import de.markusbordihn.worlddimensionnexus.teleport.TeleportCooldownManager;
 import de.markusbordihn.worlddimensionnexus.teleport.TeleportHistory;
 import de.markusbordihn.worlddimensionnexus.teleport.TeleportManager;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.UUID;
 import net.minecraft.ChatFormatting;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
 import net.minecraft.commands.arguments.EntityArgument;
+import net.minecraft.commands.arguments.GameProfileArgument;
 import net.minecraft.commands.arguments.ResourceLocationArgument;
 import net.minecraft.core.registries.Registries;
 import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.MutableComponent;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.server.players.GameProfileCache;
 import net.minecraft.world.level.Level;
 
 public class TeleportCommand extends Command {
 
   private static final String PLAYER_ARGUMENT = "player";
+  private static final String HOURS_ARGUMENT = "hours";
   private static final String TELEPORTED_MESSAGE = "Teleported ";
+  private static final int DEFAULT_AUDIT_HOURS = 24;
+  private static final int MAX_AUDIT_ENTRIES = 20;
+  private static final DateTimeFormatter AUDIT_TIME_FORMAT =
+      DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
 
   private TeleportCommand() {}
 
@@ -78,7 +95,31 @@ public class TeleportCommand extends Command {
                 .then(
                     Commands.argument(PLAYER_ARGUMENT, EntityArgument.player())
                         .requires(cs -> cs.hasPermission(Commands.LEVEL_MODERATORS))
-                        .executes(TeleportCommand::showPlayerTeleportHistory)));
+                        .executes(TeleportCommand::showPlayerTeleportHistory)))
+        .then(
+            Commands.literal("audit")
+                .requires(cs -> cs.hasPermission(Commands.LEVEL_MODERATORS))
+                .executes(context -> showTeleportAudit(context, DEFAULT_AUDIT_HOURS, null))
+                .then(
+                    Commands.argument(HOURS_ARGUMENT, IntegerArgumentType.integer(1))
+                        .executes(
+                            context ->
+                                showTeleportAudit(
+                                    context,
+                                    IntegerArgumentType.getInteger(context, HOURS_ARGUMENT),
+                                    null))
+                        .then(
+                            Commands.argument(PLAYER_ARGUMENT, GameProfileArgument.gameProfile())
+                                .executes(
+                                    context ->
+                                        showTeleportAudit(
+                                            context,
+                                            IntegerArgumentType.getInteger(
+                                                context, HOURS_ARGUMENT),
+                                            GameProfileArgument.getGameProfiles(
+                                                    context, PLAYER_ARGUMENT)
+                                                .iterator()
+                                                .next())))));
   }
 
   private static int teleportToDimension(final CommandContext<CommandSourceStack> context)
@@ -261,4 +302,68 @@ public class TeleportCommand extends Command {
 
     return sendSuccessMessage(context.getSource(), historyComponent);
   }
+
+  private static int showTeleportAudit(
+      final CommandContext<CommandSourceStack> context,
+      final int hours,
+      final GameProfile gameProfile) {
+    long now = System.currentTimeMillis();
+    UUID playerId = gameProfile != null ? gameProfile.getId() : null;
+    CommandSourceStack source = context.getSource();
+
+    // The segments are scanned on a worker thread, the result is sent on the server thread.
+    TeleportAuditLog.queryAsync(playerId, now - hours * 3600000L, now, MAX_AUDIT_ENTRIES)
+        .whenCompleteAsync(
+            (entries, throwable) -> {
+              if (throwable != null) {
+                sendFailureMessage(source, "Failed to read the teleport audit log!");
+              } else {
+                sendTeleportAudit(source, hours, entries);
+              }
+            },
+            source.getServer());
+    return Command.SINGLE_SUCCESS;
+  }
+
+  private static int sendTeleportAudit(
+      final CommandSourceStack source, final int hours, final List<TeleportAuditEntry> entries) {
+    if (entries.isEmpty()) {
+      return sendFailureMessage(
+          source,
+          Component.literal("No teleports recorded in the last " + hours + " hours")
+              .withStyle(ChatFormatting.YELLOW));
+    }
+
+    MutableComponent auditComponent =
+        Component.literal("Last " + entries.size() + " teleports (newest first):")
+            .withStyle(ChatFormatting.GREEN);
+    GameProfileCache profileCache = source.getServer().getProfileCache();
+    for (TeleportAuditEntry entry : entries) {
+      String playerName =
+          profileCache != null
+              ? profileCache
+                  .get(entry.playerId())
+                  .map(GameProfile::getName)
+                  .orElse(entry.playerId().toString())
+              : entry.playerId().toString();
+      auditComponent
+          .append(Component.literal("\n"))
+          .append(
+              Component.literal(AUDIT_TIME_FORMAT.format(Instant.ofEpochMilli(entry.timestamp())))
+                  .withStyle(ChatFormatting.GRAY))
+          .append(Component.literal(" " + playerName).withStyle(ChatFormatting.YELLOW))
+          .append(
+              Component.literal(
+                      " "
+                          + entry.fromDimension().location()
+                          + " "
+                          + entry.fromPosition().toShortString()
+                          + " -> "
+                          + entry.toDimension().location()
+                          + " "
+                          + entry.toPosition().toShortString())
+                  .withStyle(ChatFormatting.AQUA));
+    }
+    return sendSuccessMessage(source, auditComponent);
+  }
 }
@@ -23,17 +23,18 @@ import com.mojang.brigadier.suggestion.SuggestionProvider;
 import de.markusbordihn.worlddimensionnexus.dimension.DimensionManager;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.SharedSuggestionProvider;
+import net.minecraft.resources.ResourceKey;
 import net.minecraft.server.MinecraftServer;
-import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
 
 public class DimensionSuggestion {
 
   public static final SuggestionProvider<CommandSourceStack> DIMENSION_NAMES =
       (context, builder) -> {
         MinecraftServer server = context.getSource().getServer();
-        for (ServerLevel level : server.getAllLevels()) {
-          String dimensionResourceKey = level.dimension().location().toString();
-          builder.suggest(dimensionResourceKey);
+        builder.suggest(Level.OVERWORLD.location().toString());
+        for (ResourceKey<Level> levelKey : DimensionManager.getDimensions(server)) {
+          builder.suggest(levelKey.location().toString());
         }
         return builder.buildFuture();
       };
@@ -41,9 +42,9 @@ public class DimensionSuggestion {
   public static final SuggestionProvider<CommandSourceStack> ALL_DIMENSIONS =
       (context, builder) -> {
         MinecraftServer server = context.getSource().getServer();
-        for (ServerLevel level : server.getAllLevels()) {
-          String dimensionResourceKey = level.dimension().location().toString();
-          builder.suggest(dimensionResourceKey);
+        builder.suggest(Level.OVERWORLD.location().toString());
+        for (ResourceKey<Level> levelKey : DimensionManager.getDimensions(server)) {
+          builder.suggest(levelKey.location().toString());
         }
         return builder.buildFuture();
       };
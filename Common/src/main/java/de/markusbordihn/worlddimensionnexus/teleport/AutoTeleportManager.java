@@ -20,17 +20,30 @@
 package de.markusbordihn.worlddimensionnexus.teleport;
 
 import de.markusbordihn.worlddimensionnexus.Constants;
+import de.markusbordihn.worlddimensionnexus.config.TeleportConfig;
+import de.markusbordihn.worlddimensionnexus.data.teleport.AutoTeleportCompactionResult;
 import de.markusbordihn.worlddimensionnexus.data.teleport.AutoTeleportEntry;
+import de.markusbordihn.worlddimensionnexus.data.teleport.AutoTeleportRequest;
 import de.markusbordihn.worlddimensionnexus.data.teleport.AutoTeleportTrigger;
+import de.markusbordihn.worlddimensionnexus.data.teleport.LoginTeleportCheck;
+import de.markusbordihn.worlddimensionnexus.data.teleport.PlayerAutoTeleportData;
 import de.markusbordihn.worlddimensionnexus.dimension.DimensionManager;
 import de.markusbordihn.worlddimensionnexus.saveddata.AutoTeleportDataStorage;
 import de.markusbordihn.worlddimensionnexus.utils.ModLogger;
 import de.markusbordihn.worlddimensionnexus.utils.ModLogger.PrefixLogger;
 import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import net.minecraft.Util;
 import net.minecraft.core.registries.Registries;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
@@ -47,15 +60,62 @@ public class AutoTeleportManager {
   private static final Map<AutoTeleportTrigger, AutoTeleportEntry> globalRules =
       new EnumMap<>(AutoTeleportTrigger.class);
   private static final Map<UUID, String> pendingDeathTeleports = new ConcurrentHashMap<>();
+  private static final Queue<LoginTeleportCheck> pendingLoginChecks =
+      new ConcurrentLinkedQueue<>();
+  private static final Queue<AutoTeleportRequest> pendingLoginTeleports =
+      new ConcurrentLinkedQueue<>();
+  private static final AtomicBoolean compactionRunning = new AtomicBoolean(false);
 
   private AutoTeleportManager() {}
 
   public static void handlePlayerLogin(final ServerPlayer player) {
-    log.debug("Scheduling delayed auto-teleport check for player {}", player.getName().getString());
-    if (player.getServer() != null) {
-      player
-          .getServer()
-          .tell(new net.minecraft.server.TickTask(100, () -> checkGlobalAutoTeleportRules(player)));
+    MinecraftServer server = player.getServer();
+    if (server == null) {
+      return;
+    }
+
+    log.debug("Queueing delayed auto-teleport check for player {}", player.getName().getString());
+    pendingLoginChecks.add(
+        new LoginTeleportCheck(
+            player, server.getTickCount() + TeleportConfig.AUTO_TELEPORT_LOGIN_DELAY));
+  }
+
+  public static void processPendingLogins(final MinecraftServer server) {
+    if (pendingLoginChecks.isEmpty() && pendingLoginTeleports.isEmpty()) {
+      return;
+    }
+
+    // Login checks are queued in tick order, so only the head needs to be checked.
+    int currentTick = server.getTickCount();
+    int checkBudget = Math.max(1, TeleportConfig.AUTO_TELEPORT_LOGIN_CHECKS_PER_TICK);
+    LoginTeleportCheck loginCheck;
+    while (checkBudget > 0
+        && (loginCheck = pendingLoginChecks.peek()) != null
+        && loginCheck.isDue(currentTick)) {
+      pendingLoginChecks.poll();
+      ServerPlayer player = loginCheck.serverPlayer();
+      if (player.hasDisconnected()) {
+        continue;
+      }
+      AutoTeleportRequest teleportRequest = findGlobalAutoTeleportRule(player);
+      if (teleportRequest != null) {
+        pendingLoginTeleports.add(teleportRequest);
+      }
+      checkBudget--;
+    }
+
+    // Start the resulting countdown teleports staggered to spread out the teleport spike.
+    int teleportBudget = Math.max(1, TeleportConfig.AUTO_TELEPORT_LOGIN_TELEPORTS_PER_TICK);
+    AutoTeleportRequest teleportRequest;
+    while (teleportBudget > 0 && (teleportRequest = pendingLoginTeleports.poll()) != null) {
+      if (teleportRequest.serverPlayer().hasDisconnected()) {
+        continue;
+      }
+      executeTeleportRule(
+          teleportRequest.serverPlayer(),
+          teleportRequest.trigger(),
+          teleportRequest.teleportRule());
+      teleportBudget--;
     }
   }
 
@@ -118,13 +178,70 @@ public class AutoTeleportManager {
     }
   }
 
-  private static void checkGlobalAutoTeleportRules(final ServerPlayer player) {
+  public static void processExecutionRecordCompaction(final MinecraftServer server) {
+    int compactionInterval = TeleportConfig.AUTO_TELEPORT_COMPACTION_INTERVAL;
+    if (compactionInterval > 0 && server.getTickCount() % compactionInterval == 0) {
+      compactExecutionRecords(server, null);
+    }
+  }
+
+  public static boolean compactExecutionRecords(
+      final MinecraftServer server, final Consumer<AutoTeleportCompactionResult> callback) {
+    if (!compactionRunning.compareAndSet(false, true)) {
+      log.debug("Execution record compaction is already running, skipping ...");
+      return false;
+    }
+
+    // Records are immutable, so the snapshot can be compacted off the server thread.
+    Set<AutoTeleportTrigger> activeTriggers = EnumSet.noneOf(AutoTeleportTrigger.class);
+    activeTriggers.addAll(globalRules.keySet());
+    List<PlayerAutoTeleportData> playerDataSnapshot =
+        AutoTeleportDataStorage.get().getPlayerDataSnapshot();
+    long currentTime = System.currentTimeMillis();
+
+    CompletableFuture.supplyAsync(
+            () ->
+                AutoTeleportDataStorage.compactPlayerData(
+                    playerDataSnapshot, activeTriggers, currentTime),
+            Util.backgroundExecutor())
+        .thenAcceptAsync(
+            compactionResult -> {
+              AutoTeleportDataStorage.get().applyCompaction(compactionResult);
+              if (compactionResult.hasChanges()) {
+                log.info(
+                    "Compacted {} execution records and {} player entries, saved {} bytes.",
+                    compactionResult.compactedRecords(),
+                    compactionResult.removedPlayers(),
+                    compactionResult.bytesSaved());
+              }
+              if (callback != null) {
+                callback.accept(compactionResult);
+              }
+            },
+            server)
+        .whenComplete(
+            (result, error) -> {
+              compactionRunning.set(false);
+              if (error != null) {
+                log.error("Failed to compact execution records: {}", error.getMessage());
+              }
+            });
+    return true;
+  }
+
+  private static AutoTeleportRequest findGlobalAutoTeleportRule(final ServerPlayer player) {
+    if (globalRules.isEmpty()) {
+      return null;
+    }
+
     log.debug(
         "Evaluating {} global auto-teleport rules for player: {}",
         globalRules.size(),
         player.getName().getString());
 
     String currentDimensionId = getCurrentDimensionId(player);
+    PlayerAutoTeleportData playerData =
+        AutoTeleportDataStorage.get().getPlayerData(player.getUUID());
 
     for (Map.Entry<AutoTeleportTrigger, AutoTeleportEntry> ruleEntry : globalRules.entrySet()) {
       AutoTeleportTrigger triggerType = ruleEntry.getKey();
@@ -137,13 +254,14 @@ public class AutoTeleportManager {
       log.debug(
           "Evaluating trigger '{}' for player: {}", triggerType, player.getName().getString());
 
-      if (!canExecuteTrigger(player, triggerType, currentDimensionId, teleportRule)) {
+      if (!canExecuteTrigger(player, triggerType, currentDimensionId, teleportRule, playerData)) {
         continue;
       }
 
-      executeTeleportRule(player, triggerType, teleportRule);
-      return; // Exit after first successful teleport to avoid multiple teleports
+      // Only use the first matching rule to avoid multiple teleports
+      return new AutoTeleportRequest(player, triggerType, teleportRule);
     }
+    return null;
   }
 
   private static void processPlayerDeath(final ServerPlayer player) {
@@ -174,8 +292,22 @@ public class AutoTeleportManager {
       final AutoTeleportTrigger triggerType,
       final String currentDimensionId,
       final AutoTeleportEntry teleportRule) {
+    return canExecuteTrigger(
+        player,
+        triggerType,
+        currentDimensionId,
+        teleportRule,
+        AutoTeleportDataStorage.get().getPlayerData(player.getUUID()));
+  }
 
-    if (!isTriggerConditionSatisfied(player, triggerType)) {
+  private static boolean canExecuteTrigger(
+      final ServerPlayer player,
+      final AutoTeleportTrigger triggerType,
+      final String currentDimensionId,
+      final AutoTeleportEntry teleportRule,
+      final PlayerAutoTeleportData playerData) {
+
+    if (!isTriggerConditionSatisfied(player, triggerType, playerData)) {
       log.debug(
           "Trigger '{}' conditions not satisfied for player: {}",
           triggerType,
@@ -219,21 +351,18 @@ public class AutoTeleportManager {
   }
 
   private static boolean isTriggerConditionSatisfied(
-      final ServerPlayer player, final AutoTeleportTrigger trigger) {
-    UUID playerId = player.getUUID();
-
+      final ServerPlayer player,
+      final AutoTeleportTrigger trigger,
+      final PlayerAutoTeleportData playerData) {
     return switch (trigger) {
       case ALWAYS -> true;
       case ON_DEATH -> true; // Death trigger always executes when player dies
-      case ONCE_AFTER_SERVER_RESTART -> !serverRestartTeleports.containsKey(playerId);
-      case ONCE_PER_SERVER_JOIN ->
-          !AutoTeleportDataStorage.get().hasPlayerTriggered(playerId, trigger);
-      case ONCE_PER_DAY ->
-          !AutoTeleportDataStorage.get().hasPlayerTriggeredToday(playerId, trigger);
-      case ONCE_PER_WEEK ->
-          !AutoTeleportDataStorage.get().hasPlayerTriggeredThisWeek(playerId, trigger);
-      case ONCE_PER_MONTH ->
-          !AutoTeleportDataStorage.get().hasPlayerTriggeredThisMonth(playerId, trigger);
+      case ONCE_AFTER_SERVER_RESTART -> !serverRestartTeleports.containsKey(player.getUUID());
+      case ONCE_PER_SERVER_JOIN -> playerData == null || !playerData.hasTeleport(trigger);
+      case ONCE_PER_DAY, ONCE_PER_WEEK, ONCE_PER_MONTH ->
+          playerData == null
+              || !playerData.wasExecutedWithin(
+                  trigger, trigger.getExecutionWindowMillis(), System.currentTimeMillis());
     };
   }
 
@@ -346,6 +475,8 @@ public class AutoTeleportManager {
     serverRestartTeleports.clear();
     globalRules.clear();
     pendingDeathTeleports.clear();
+    pendingLoginChecks.clear();
+    pendingLoginTeleports.clear();
   }
 
   public static boolean setAutoTeleportPosition(
@@ -0,0 +1,407 @@
+/*
+ * Copyright 2025 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.worlddimensionnexus.teleport;
+
+import de.markusbordihn.worlddimensionnexus.Constants;
+import de.markusbordihn.worlddimensionnexus.config.TeleportConfig;
+import de.markusbordihn.worlddimensionnexus.data.teleport.TeleportAuditEntry;
+import de.markusbordihn.worlddimensionnexus.utils.ModLogger;
+import de.markusbordihn.worlddimensionnexus.utils.ModLogger.PrefixLogger;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+import net.minecraft.Util;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.storage.LevelResource;
+
+public class TeleportAuditLog {
+
+  private static final PrefixLogger log = ModLogger.getPrefixLogger("Teleport Audit Log");
+
+  private static final String AUDIT_DIRECTORY = "teleport_audit";
+  private static final String DIMENSION_INDEX_FILE = "dimensions.txt";
+  private static final String SEGMENT_FILE_PREFIX = "journal-";
+  private static final String SEGMENT_FILE_EXTENSION = ".bin";
+
+  // Segment layout: header (magic, version, record count) followed by fixed-size records.
+  private static final int SEGMENT_MAGIC = 0x57444E4A;
+  private static final int SEGMENT_VERSION = 1;
+  private static final int HEADER_SIZE = 16;
+  private static final int RECORD_COUNT_OFFSET = 8;
+  private static final int RECORD_SIZE = 48;
+
+  // Mapped records survive a server crash, but only forced records survive a power loss.
+  private static final int FLUSH_INTERVAL_TICKS = 20 * 60;
+
+  private static final Map<ResourceKey<Level>, Integer> dimensionIndex = new HashMap<>();
+  private static final List<ResourceKey<Level>> dimensionKeys = new ArrayList<>();
+  private static Path auditDirectory;
+  private static FileChannel segmentChannel;
+  private static MappedByteBuffer segmentBuffer;
+  private static int segmentNumber;
+  private static long segmentRecordCount;
+  private static boolean hasUnflushedRecords;
+
+  private TeleportAuditLog() {}
+
+  public static synchronized void initialize(final MinecraftServer minecraftServer) {
+    close();
+    if (!TeleportConfig.TELEPORT_AUDIT_LOG_ENABLED) {
+      return;
+    }
+
+    auditDirectory =
+        minecraftServer
+            .getWorldPath(LevelResource.ROOT)
+            .resolve("data")
+            .resolve(Constants.MOD_ID)
+            .resolve(AUDIT_DIRECTORY);
+    try {
+      Files.createDirectories(auditDirectory);
+      loadDimensionIndex();
+      List<Integer> segmentNumbers = getSegmentNumbers(auditDirectory);
+      openSegment(segmentNumbers.isEmpty() ? 0 : segmentNumbers.getLast());
+      log.info(
+          "Opened teleport audit log segment {} with {} records.",
+          segmentNumber,
+          segmentRecordCount);
+    } catch (IOException e) {
+      log.error("Failed to open teleport audit log in {}: {}", auditDirectory, e.getMessage());
+      close();
+    }
+  }
+
+  public static synchronized void record(
+      final UUID playerId,
+      final ResourceKey<Level> fromDimension,
+      final BlockPos fromPosition,
+      final ResourceKey<Level> toDimension,
+      final BlockPos toPosition) {
+    if (segmentBuffer == null) {
+      return;
+    }
+
+    try {
+      if (getRecordOffset(segmentRecordCount + 1) > segmentBuffer.capacity()) {
+        rotateSegment();
+      }
+      int fromDimensionIndex = getDimensionIndex(fromDimension);
+      int toDimensionIndex = getDimensionIndex(toDimension);
+
+      int offset = getRecordOffset(segmentRecordCount);
+      segmentBuffer.putLong(offset, System.currentTimeMillis());
+      segmentBuffer.putLong(offset + 8, playerId.getMostSignificantBits());
+      segmentBuffer.putLong(offset + 16, playerId.getLeastSignificantBits());
+      segmentBuffer.putInt(offset + 24, fromDimensionIndex);
+      segmentBuffer.putInt(offset + 28, toDimensionIndex);
+      segmentBuffer.putLong(offset + 32, fromPosition.asLong());
+      segmentBuffer.putLong(offset + 40, toPosition.asLong());
+      segmentRecordCount++;
+      segmentBuffer.putLong(RECORD_COUNT_OFFSET, segmentRecordCount);
+      hasUnflushedRecords = true;
+    } catch (IOException e) {
+      log.error("Failed to write teleport audit record: {}", e.getMessage());
+    }
+  }
+
+  public static CompletableFuture<List<TeleportAuditEntry>> queryAsync(
+      final UUID playerId, final long fromTime, final long toTime, final int limit) {
+    Path directory;
+    int currentSegmentNumber;
+    ByteBuffer currentSegment;
+    long currentRecordCount;
+    List<ResourceKey<Level>> dimensions;
+    synchronized (TeleportAuditLog.class) {
+      if (auditDirectory == null) {
+        return CompletableFuture.completedFuture(new ArrayList<>());
+      }
+      // Only a read-only view of the records written so far is handed to the worker thread.
+      directory = auditDirectory;
+      currentSegmentNumber = segmentNumber;
+      currentSegment = segmentBuffer != null ? segmentBuffer.asReadOnlyBuffer() : null;
+      currentRecordCount = segmentRecordCount;
+      dimensions = List.copyOf(dimensionKeys);
+    }
+
+    return CompletableFuture.supplyAsync(
+        () -> {
+          List<TeleportAuditEntry> entries = new ArrayList<>();
+
+          // Segments and records are scanned newest first, directly from the mapped files.
+          List<Integer> segmentNumbers = getSegmentNumbers(directory);
+          for (int i = segmentNumbers.size() - 1; i >= 0 && entries.size() < limit; i--) {
+            int number = segmentNumbers.get(i);
+            if (number > currentSegmentNumber) {
+              continue;
+            }
+            if (number == currentSegmentNumber && currentSegment != null) {
+              if (!scanSegment(
+                  currentSegment,
+                  currentRecordCount,
+                  dimensions,
+                  playerId,
+                  fromTime,
+                  toTime,
+                  limit,
+                  entries)) {
+                break;
+              }
+              continue;
+            }
+            try (FileChannel channel =
+                FileChannel.open(getSegmentFile(directory, number), StandardOpenOption.READ)) {
+              MappedByteBuffer buffer =
+                  channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+              if (buffer.capacity() >= HEADER_SIZE
+                  && !scanSegment(
+                      buffer,
+                      buffer.getLong(RECORD_COUNT_OFFSET),
+                      dimensions,
+                      playerId,
+                      fromTime,
+                      toTime,
+                      limit,
+                      entries)) {
+                break;
+              }
+            } catch (IOException e) {
+              log.error("Failed to read teleport audit segment {}: {}", number, e.getMessage());
+            }
+          }
+          return entries;
+        },
+        Util.backgroundExecutor());
+  }
+
+  private static boolean scanSegment(
+      final ByteBuffer buffer,
+      final long recordCount,
+      final List<ResourceKey<Level>> dimensions,
+      final UUID playerId,
+      final long fromTime,
+      final long toTime,
+      final int limit,
+      final List<TeleportAuditEntry> entries) {
+    if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != SEGMENT_MAGIC) {
+      return true;
+    }
+
+    long lastRecord =
+        Math.min(recordCount, (buffer.capacity() - HEADER_SIZE) / (long) RECORD_SIZE) - 1;
+    for (long record = lastRecord; record >= 0 && entries.size() < limit; record--) {
+      int offset = getRecordOffset(record);
+      long timestamp = buffer.getLong(offset);
+      if (timestamp < fromTime) {
+        // Records are appended in time order, so older segments can be skipped as well.
+        return false;
+      }
+      if (timestamp > toTime) {
+        continue;
+      }
+      if (playerId != null
+          && (buffer.getLong(offset + 8) != playerId.getMostSignificantBits()
+              || buffer.getLong(offset + 16) != playerId.getLeastSignificantBits())) {
+        continue;
+      }
+      entries.add(
+          new TeleportAuditEntry(
+              timestamp,
+              new UUID(buffer.getLong(offset + 8), buffer.getLong(offset + 16)),
+              getDimensionKey(dimensions, buffer.getInt(offset + 24)),
+              BlockPos.of(buffer.getLong(offset + 32)),
+              getDimensionKey(dimensions, buffer.getInt(offset + 28)),
+              BlockPos.of(buffer.getLong(offset + 40))));
+    }
+    return true;
+  }
+
+  public static void processFlush(final MinecraftServer minecraftServer) {
+    if (minecraftServer.getTickCount() % FLUSH_INTERVAL_TICKS == 0) {
+      flush();
+    }
+  }
+
+  public static synchronized void flush() {
+    if (segmentBuffer != null && hasUnflushedRecords) {
+      segmentBuffer.force();
+      hasUnflushedRecords = false;
+    }
+  }
+
+  public static synchronized void close() {
+    if (segmentBuffer != null) {
+      segmentBuffer.force();
+      segmentBuffer = null;
+    }
+    if (segmentChannel != null) {
+      try {
+        segmentChannel.close();
+      } catch (IOException e) {
+        log.error("Failed to close teleport audit log: {}", e.getMessage());
+      }
+      segmentChannel = null;
+    }
+    dimensionIndex.clear();
+    dimensionKeys.clear();
+    segmentRecordCount = 0;
+  }
+
+  private static void openSegment(final int number) throws IOException {
+    Path segmentFile = getSegmentFile(auditDirectory, number);
+    long segmentSize = HEADER_SIZE + (long) getRecordsPerSegment() * RECORD_SIZE;
+    segmentChannel =
+        FileChannel.open(
+            segmentFile,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+    segmentBuffer =
+        segmentChannel.map(
+            FileChannel.MapMode.READ_WRITE, 0, Math.max(segmentSize, segmentChannel.size()));
+    segmentNumber = number;
+
+    if (segmentBuffer.getInt(0) == SEGMENT_MAGIC) {
+      segmentRecordCount = segmentBuffer.getLong(RECORD_COUNT_OFFSET);
+    } else {
+      segmentBuffer.putInt(0, SEGMENT_MAGIC);
+      segmentBuffer.putInt(4, SEGMENT_VERSION);
+      segmentBuffer.putLong(RECORD_COUNT_OFFSET, 0L);
+      segmentRecordCount = 0;
+    }
+  }
+
+  private static void rotateSegment() throws IOException {
+    segmentBuffer.force();
+    segmentChannel.close();
+    openSegment(segmentNumber + 1);
+    log.info("Rotated teleport audit log to segment {}.", segmentNumber);
+
+    // A segment which is still mapped by a running query is removed with the next rotation.
+    List<Integer> segmentNumbers = getSegmentNumbers(auditDirectory);
+    int maxSegments = Math.max(1, TeleportConfig.TELEPORT_AUDIT_LOG_MAX_SEGMENTS);
+    for (int i = 0; i < segmentNumbers.size() - maxSegments; i++) {
+      try {
+        Files.deleteIfExists(getSegmentFile(auditDirectory, segmentNumbers.get(i)));
+      } catch (IOException e) {
+        log.warn(
+            "Unable to delete teleport audit segment {}: {}",
+            segmentNumbers.get(i),
+            e.getMessage());
+      }
+    }
+  }
+
+  private static int getRecordsPerSegment() {
+    long segmentBytes = Math.max(1, TeleportConfig.TELEPORT_AUDIT_LOG_SEGMENT_SIZE) * 1024L * 1024L;
+    return (int) Math.min(Integer.MAX_VALUE / RECORD_SIZE - 1, segmentBytes / RECORD_SIZE);
+  }
+
+  private static int getRecordOffset(final long record) {
+    return (int) (HEADER_SIZE + record * RECORD_SIZE);
+  }
+
+  private static Path getSegmentFile(final Path directory, final int number) {
+    return directory.resolve(
+        String.format("%s%06d%s", SEGMENT_FILE_PREFIX, number, SEGMENT_FILE_EXTENSION));
+  }
+
+  private static List<Integer> getSegmentNumbers(final Path directory) {
+    List<Integer> segmentNumbers = new ArrayList<>();
+    try (Stream<Path> files = Files.list(directory)) {
+      files
+          .map(path -> path.getFileName().toString())
+          .filter(
+              name -> name.startsWith(SEGMENT_FILE_PREFIX) && name.endsWith(SEGMENT_FILE_EXTENSION))
+          .forEach(
+              name -> {
+                try {
+                  segmentNumbers.add(
+                      Integer.parseInt(
+                          name.substring(
+                              SEGMENT_FILE_PREFIX.length(),
+                              name.length() - SEGMENT_FILE_EXTENSION.length())));
+                } catch (NumberFormatException e) {
+                  log.warn("Ignoring unknown teleport audit file {}", name);
+                }
+              });
+    } catch (IOException e) {
+      log.error("Failed to list teleport audit segments: {}", e.getMessage());
+    }
+    segmentNumbers.sort(Integer::compare);
+    return segmentNumbers;
+  }
+
+  private static void loadDimensionIndex() throws IOException {
+    dimensionIndex.clear();
+    dimensionKeys.clear();
+    Path indexFile = auditDirectory.resolve(DIMENSION_INDEX_FILE);
+    if (!Files.exists(indexFile)) {
+      return;
+    }
+    for (String line : Files.readAllLines(indexFile, StandardCharsets.UTF_8)) {
+      if (!line.isBlank()) {
+        ResourceKey<Level> dimensionKey =
+            ResourceKey.create(Registries.DIMENSION, ResourceLocation.parse(line.trim()));
+        dimensionIndex.put(dimensionKey, dimensionKeys.size());
+        dimensionKeys.add(dimensionKey);
+      }
+    }
+  }
+
+  private static int getDimensionIndex(final ResourceKey<Level> dimensionKey) throws IOException {
+    Integer index = dimensionIndex.get(dimensionKey);
+    if (index != null) {
+      return index;
+    }
+
+    index = dimensionKeys.size();
+    Files.writeString(
+        auditDirectory.resolve(DIMENSION_INDEX_FILE),
+        dimensionKey.location() + "\n",
+        StandardCharsets.UTF_8,
+        StandardOpenOption.CREATE,
+        StandardOpenOption.APPEND);
+    dimensionIndex.put(dimensionKey, index);
+    dimensionKeys.add(dimensionKey);
+    return index;
+  }
+
+  private static ResourceKey<Level> getDimensionKey(
+      final List<ResourceKey<Level>> dimensions, final int index) {
+    return index >= 0 && index < dimensions.size() ? dimensions.get(index) : Level.OVERWORLD;
+  }
+}
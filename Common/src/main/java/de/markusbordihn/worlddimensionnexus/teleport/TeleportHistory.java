@@ -19,13 +19,13 @@
 
 package de.markusbordihn.worlddimensionnexus.teleport;
 
+import de.markusbordihn.worlddimensionnexus.data.teleport.TeleportHistoryBuffer;
 import de.markusbordihn.worlddimensionnexus.data.teleport.TeleportLocation;
 import de.markusbordihn.worlddimensionnexus.saveddata.TeleportHistoryDataStorage;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import net.minecraft.core.BlockPos;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.server.level.ServerLevel;
@@ -34,14 +34,25 @@ import net.minecraft.world.level.Level;
 
 public class TeleportHistory {
 
-  private static final Map<UUID, List<TeleportLocation>> playerHistory = new HashMap<>();
+  private static final Map<UUID, TeleportHistoryBuffer> playerHistory = new ConcurrentHashMap<>();
   private static final int MAX_HISTORY_SIZE = 10;
   private static ServerLevel storageLevel;
 
   public static void initialize(final ServerLevel level) {
     storageLevel = level;
     TeleportHistoryDataStorage.init(level);
-    loadAllHistoryFromStorage();
+    playerHistory.clear();
+  }
+
+  public static void loadPlayerHistory(final UUID playerId) {
+    getHistoryBuffer(playerId);
+  }
+
+  public static void unloadPlayerHistory(final UUID playerId) {
+    playerHistory.remove(playerId);
+    if (TeleportHistoryDataStorage.isInitialized()) {
+      TeleportHistoryDataStorage.get().unloadPlayerHistory(playerId);
+    }
   }
 
   public static void recordLocation(
@@ -51,15 +62,9 @@ public class TeleportHistory {
       final float yRot,
       final float xRot,
       final GameType gameType) {
-    List<TeleportLocation> history =
-        playerHistory.computeIfAbsent(playerId, k -> new ArrayList<>());
-
-    history.addFirst(new TeleportLocation(dimension, position, yRot, xRot, gameType));
-    if (history.size() > MAX_HISTORY_SIZE) {
-      history.removeLast();
-    }
-
-    savePlayerHistoryToStorage(playerId, history);
+    getHistoryBuffer(playerId)
+        .push(dimension, position, yRot, xRot, System.currentTimeMillis(), gameType);
+    markHistoryChanged(playerId);
   }
 
   public static void recordLocation(
@@ -72,40 +77,24 @@ public class TeleportHistory {
   }
 
   public static TeleportLocation getLastLocation(final UUID playerId) {
-    List<TeleportLocation> history = getPlayerHistory(playerId);
-    if (history.isEmpty()) {
-      return null;
-    }
-
-    return history.getFirst();
+    return getHistoryBuffer(playerId).peek();
   }
 
   public static TeleportLocation popLastLocation(final UUID playerId) {
-    List<TeleportLocation> history = playerHistory.get(playerId);
-    if (history == null || history.isEmpty()) {
-      return null;
+    TeleportLocation lastLocation = getHistoryBuffer(playerId).pop();
+    if (lastLocation != null) {
+      markHistoryChanged(playerId);
     }
-
-    TeleportLocation lastLocation = history.removeFirst();
-    savePlayerHistoryToStorage(playerId, history);
     return lastLocation;
   }
 
   public static GameType getLastGameTypeForDimension(
       final UUID playerId, final ResourceKey<Level> dimension) {
-    List<TeleportLocation> history = getPlayerHistory(playerId);
-
-    for (TeleportLocation location : history) {
-      if (location.dimension().equals(dimension)) {
-        return location.gameType();
-      }
-    }
-
-    return GameType.SURVIVAL;
+    return getHistoryBuffer(playerId).findGameType(dimension, GameType.SURVIVAL);
   }
 
   public static List<TeleportLocation> getPlayerHistory(final UUID playerId) {
-    return playerHistory.getOrDefault(playerId, new ArrayList<>());
+    return getHistoryBuffer(playerId).toList();
   }
 
   public static String getFormattedPlayerHistory(final UUID playerId) {
@@ -130,7 +119,7 @@ public class TeleportHistory {
 
   public static void clearPlayerHistory(final UUID playerId) {
     playerHistory.remove(playerId);
-    if (storageLevel != null) {
+    if (TeleportHistoryDataStorage.isInitialized()) {
       TeleportHistoryDataStorage.get().clearPlayerHistory(playerId);
     }
   }
@@ -139,23 +128,35 @@ public class TeleportHistory {
     playerHistory.clear();
   }
 
+  public static void saveAllHistory() {
+    if (TeleportHistoryDataStorage.isInitialized()) {
+      TeleportHistoryDataStorage.get().flushLoadedHistories();
+    }
+  }
+
   public static void clearAllCache() {
     playerHistory.clear();
+    storageLevel = null;
+  }
+
+  private static TeleportHistoryBuffer getHistoryBuffer(final UUID playerId) {
+    TeleportHistoryBuffer history = playerHistory.get(playerId);
+    if (history == null) {
+      history = playerHistory.computeIfAbsent(playerId, TeleportHistory::loadHistoryBuffer);
+    }
+    return history;
   }
 
-  private static void savePlayerHistoryToStorage(
-      final UUID playerId, final List<TeleportLocation> history) {
-    if (storageLevel != null) {
-      TeleportHistoryDataStorage.get().savePlayerHistory(playerId, history);
+  private static TeleportHistoryBuffer loadHistoryBuffer(final UUID playerId) {
+    if (TeleportHistoryDataStorage.isInitialized()) {
+      return TeleportHistoryDataStorage.get().getPlayerHistory(playerId, MAX_HISTORY_SIZE);
     }
+    return new TeleportHistoryBuffer(MAX_HISTORY_SIZE);
   }
 
-  private static void loadAllHistoryFromStorage() {
-    if (storageLevel != null) {
-      TeleportHistoryDataStorage storage = TeleportHistoryDataStorage.get();
-      playerHistory.clear();
-      // Load each player's history individually since there's no loadAllPlayerHistory method
-      // The storage will be loaded on-demand when players access their history
+  private static void markHistoryChanged(final UUID playerId) {
+    if (TeleportHistoryDataStorage.isInitialized()) {
+      TeleportHistoryDataStorage.get().markPlayerHistoryChanged(playerId);
     }
   }
 }
@@ -96,7 +96,7 @@ public class TeleportManager {
       return false;
     }
 
-    ServerLevel targetLevel = serverPlayer.server.getLevel(dimensionKey);
+    ServerLevel targetLevel = DimensionManager.getOrActivateLevel(dimensionKey);
     if (targetLevel == null) {
       log.warn("Dimension {} does not exist for countdown teleport", dimensionKey.location());
       sendMessage(serverPlayer, "Target dimension is not available.", ChatFormatting.RED);
@@ -147,7 +147,7 @@ public class TeleportManager {
 
   public static boolean safeTeleportToDimension(
       final ServerPlayer serverPlayer, final ResourceKey<Level> dimensionKey) {
-    ServerLevel targetLevel = serverPlayer.server.getLevel(dimensionKey);
+    ServerLevel targetLevel = DimensionManager.getOrActivateLevel(dimensionKey);
     if (targetLevel == null) {
       return false;
     }
@@ -167,7 +167,7 @@ public class TeleportManager {
       return false;
     }
 
-    ServerLevel targetLevel = serverPlayer.server.getLevel(lastLocation.dimension());
+    ServerLevel targetLevel = DimensionManager.getOrActivateLevel(lastLocation.dimension());
     if (targetLevel == null) {
       return false;
     }
@@ -181,7 +181,7 @@ public class TeleportManager {
       final ServerPlayer serverPlayer, final ResourceKey<Level> dimensionKey) {
     recordCurrentLocation(serverPlayer);
 
-    ServerLevel targetLevel = serverPlayer.server.getLevel(dimensionKey);
+    ServerLevel targetLevel = DimensionManager.getOrActivateLevel(dimensionKey);
     if (targetLevel == null) {
       return false;
     }
@@ -197,18 +197,35 @@ public class TeleportManager {
       final ServerPlayer serverPlayer,
       final ResourceKey<Level> targetDimension,
       final BlockPos targetPosition) {
+    return teleportPlayer(serverPlayer, targetDimension, targetPosition, true);
+  }
+
+  public static boolean teleportPlayerWithoutHistory(
+      final ServerPlayer serverPlayer,
+      final ResourceKey<Level> targetDimension,
+      final BlockPos targetPosition) {
+    return teleportPlayer(serverPlayer, targetDimension, targetPosition, false);
+  }
+
+  private static boolean teleportPlayer(
+      final ServerPlayer serverPlayer,
+      final ResourceKey<Level> targetDimension,
+      final BlockPos targetPosition,
+      final boolean recordHistory) {
 
     if (serverPlayer == null || targetDimension == null || targetPosition == null) {
       return false;
     }
 
-    ServerLevel targetLevel = serverPlayer.server.getLevel(targetDimension);
+    ServerLevel targetLevel = DimensionManager.getOrActivateLevel(targetDimension);
     if (targetLevel == null) {
       log.warn("Target dimension {} does not exist", targetDimension.location());
       return false;
     }
 
-    recordCurrentLocation(serverPlayer);
+    if (recordHistory) {
+      recordCurrentLocation(serverPlayer);
+    }
     executePlayerTeleport(serverPlayer, targetLevel, targetPosition);
     handlePostTeleportActions(targetLevel, targetDimension);
     handleGameTypeChange(serverPlayer, targetLevel);
@@ -218,6 +235,7 @@ public class TeleportManager {
 
   private static void executePlayerTeleport(
       final ServerPlayer serverPlayer, final ServerLevel targetLevel, final BlockPos position) {
+    recordTeleportAudit(serverPlayer, targetLevel, position);
     serverPlayer.teleportTo(
         targetLevel,
         position.getX() + 0.5,
@@ -231,6 +249,7 @@ public class TeleportManager {
       final ServerPlayer serverPlayer,
       final ServerLevel targetLevel,
       final TeleportLocation location) {
+    recordTeleportAudit(serverPlayer, targetLevel, location.position());
     serverPlayer.teleportTo(
         targetLevel,
         location.position().getX() + 0.5,
@@ -240,6 +259,16 @@ public class TeleportManager {
         location.xRot());
   }
 
+  public static void recordTeleportAudit(
+      final ServerPlayer serverPlayer, final ServerLevel targetLevel, final BlockPos position) {
+    TeleportAuditLog.record(
+        serverPlayer.getUUID(),
+        serverPlayer.level().dimension(),
+        serverPlayer.blockPosition(),
+        targetLevel.dimension(),
+        position);
+  }
+
   private static void handlePostTeleportActions(
       final ServerLevel targetLevel, final ResourceKey<Level> dimensionKey) {
     DimensionInfoData dimensionInfo =
@@ -20,6 +20,9 @@
 package de.markusbordihn.worlddimensionnexus.utils;
 
 import de.markusbordihn.worlddimensionnexus.dimension.DimensionManager;
+import de.markusbordihn.worlddimensionnexus.dimension.DimensionPoolManager;
+import de.markusbordihn.worlddimensionnexus.dimension.DimensionPregenManager;
+import de.markusbordihn.worlddimensionnexus.dimension.DimensionUnloadManager;
 import de.markusbordihn.worlddimensionnexus.portal.PortalTargetManager;
 import de.markusbordihn.worlddimensionnexus.portal.PortalTeleportHelper;
 import de.markusbordihn.worlddimensionnexus.saveddata.AutoTeleportDataStorage;
@@ -46,6 +49,9 @@ public class CacheManager {
     log.info("Clearing Data Manager caches...");
     AutoTeleportManager.clearAllCache();
     DimensionManager.clearAllCache();
+    DimensionPoolManager.clearAllCache();
+    DimensionPregenManager.clearAllCache();
+    DimensionUnloadManager.clearAllCache();
     PortalTargetManager.clear();
     PortalTeleportHelper.clearAllCache();
     TeleportHistory.clearAllCache();
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2025 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.worlddimensionnexus.data.portal;
+
+import com.mojang.serialization.Codec;
+import de.markusbordihn.worlddimensionnexus.Constants;
+import de.markusbordihn.worlddimensionnexus.gametest.TimingHarness;
+import de.markusbordihn.worlddimensionnexus.utils.ModLogger;
+import de.markusbordihn.worlddimensionnexus.utils.ModLogger.PrefixLogger;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import net.minecraft.core.BlockPos;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.NbtOps;
+import net.minecraft.nbt.Tag;
+import net.minecraft.util.RandomSource;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
+
+@GameTestHolder(Constants.MOD_ID)
+@PrefixGameTestTemplate(false)
+public class PortalInfoDataGameTests {
+
+  private static final PrefixLogger log = ModLogger.getPrefixLogger("Portal Info Data Tests");
+
+  private static final int PORTAL_COUNT = 100_000;
+
+  private PortalInfoDataGameTests() {}
+
+  @GameTest(template = "empty")
+  public static void blockPosSetCodecReadsPackedAndLegacyFormat(final GameTestHelper helper) {
+    Set<BlockPos> positions = createBlockSets(RandomSource.create(1L), 1).get(0);
+    Tag packedTag = encode(PortalInfoData.BLOCK_POS_SET_CODEC, List.of(positions)).get(0);
+    Tag legacyTag = encode(PortalInfoData.LEGACY_BLOCK_POS_SET_CODEC, List.of(positions)).get(0);
+
+    helper.assertTrue(
+        packedTag.getId() == Tag.TAG_LONG_ARRAY, "Block sets are not written as a long array");
+    helper.assertTrue(
+        positions.equals(decode(PortalInfoData.BLOCK_POS_SET_CODEC, packedTag)),
+        "Packed block set does not round trip");
+    helper.assertTrue(
+        positions.equals(decode(PortalInfoData.BLOCK_POS_SET_CODEC, legacyTag)),
+        "Legacy block set cannot be read anymore");
+    helper.succeed();
+  }
+
+  @GameTest(template = "empty", batch = "benchmark")
+  public static void blockPosSetCodecTiming(final GameTestHelper helper) throws IOException {
+    // Frame, inner and corner blocks of randomly placed portals, as stored in the portal shards.
+    List<Set<BlockPos>> blockSets = createBlockSets(RandomSource.create(1L), PORTAL_COUNT * 3);
+    List<Tag> legacyTags = encode(PortalInfoData.LEGACY_BLOCK_POS_SET_CODEC, blockSets);
+    List<Tag> packedTags = encode(PortalInfoData.PACKED_BLOCK_POS_SET_CODEC, blockSets);
+    log.info(
+        "Block sets of {} portals: legacy {} bytes, packed {} bytes",
+        PORTAL_COUNT,
+        getEncodedSize(legacyTags),
+        getEncodedSize(packedTags));
+
+    TimingHarness.compare(
+        "Encode block sets of " + PORTAL_COUNT + " portals",
+        () -> encode(PortalInfoData.LEGACY_BLOCK_POS_SET_CODEC, blockSets).size(),
+        () -> encode(PortalInfoData.PACKED_BLOCK_POS_SET_CODEC, blockSets).size());
+    TimingHarness.compare(
+        "Decode block sets of " + PORTAL_COUNT + " portals",
+        () -> decodeAll(PortalInfoData.LEGACY_BLOCK_POS_SET_CODEC, legacyTags),
+        () -> decodeAll(PortalInfoData.PACKED_BLOCK_POS_SET_CODEC, packedTags));
+    helper.succeed();
+  }
+
+  private static List<Set<BlockPos>> createBlockSets(
+      final RandomSource randomSource, final int count) {
+    List<Set<BlockPos>> blockSets = new ArrayList<>(count);
+    for (int index = 0; index < count; index++) {
+      BlockPos origin =
+          new BlockPos(
+              randomSource.nextIntBetweenInclusive(-30_000_000, 30_000_000),
+              randomSource.nextIntBetweenInclusive(-64, 319),
+              randomSource.nextIntBetweenInclusive(-30_000_000, 30_000_000));
+      Set<BlockPos> positions = new HashSet<>();
+      int blocks = 4 + randomSource.nextInt(12);
+      for (int block = 0; block < blocks; block++) {
+        positions.add(origin.offset(block % 4, block / 4, 0));
+      }
+      blockSets.add(positions);
+    }
+    return blockSets;
+  }
+
+  private static List<Tag> encode(
+      final Codec<Set<BlockPos>> codec, final List<Set<BlockPos>> sets) {
+    List<Tag> tags = new ArrayList<>(sets.size());
+    for (Set<BlockPos> positions : sets) {
+      tags.add(codec.encodeStart(NbtOps.INSTANCE, positions).getOrThrow());
+    }
+    return tags;
+  }
+
+  private static Set<BlockPos> decode(final Codec<Set<BlockPos>> codec, final Tag tag) {
+    return codec.parse(NbtOps.INSTANCE, tag).getOrThrow();
+  }
+
+  private static long decodeAll(final Codec<Set<BlockPos>> codec, final List<Tag> tags) {
+    long positions = 0;
+    for (Tag tag : tags) {
+      positions += decode(codec, tag).size();
+    }
+    return positions;
+  }
+
+  private static int getEncodedSize(final List<Tag> tags) throws IOException {
+    ListTag listTag = new ListTag();
+    listTag.addAll(tags);
+    CompoundTag compoundTag = new CompoundTag();
+    compoundTag.put("BlockSets", listTag);
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    NbtIo.write(compoundTag, new DataOutputStream(outputStream));
+    return outputStream.size();
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2025 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.worlddimensionnexus.gametest;
+
+import de.markusbordihn.worlddimensionnexus.utils.ModLogger;
+import de.markusbordihn.worlddimensionnexus.utils.ModLogger.PrefixLogger;
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+public final class TimingHarness {
+
+  private static final PrefixLogger log = ModLogger.getPrefixLogger("Timing Harness");
+
+  private static final int WARMUP_ROUNDS = 5;
+  private static final int MEASURED_ROUNDS = 15;
+
+  // Results are consumed here, so the measured work cannot be optimized away.
+  @SuppressWarnings("unused")
+  private static volatile long blackhole;
+
+  private TimingHarness() {}
+
+  public static long measure(final String name, final LongSupplier task) {
+    for (int round = 0; round < WARMUP_ROUNDS; round++) {
+      blackhole += task.getAsLong();
+    }
+
+    long[] samples = new long[MEASURED_ROUNDS];
+    for (int round = 0; round < MEASURED_ROUNDS; round++) {
+      long startTime = System.nanoTime();
+      blackhole += task.getAsLong();
+      samples[round] = System.nanoTime() - startTime;
+    }
+    Arrays.sort(samples);
+    long median = samples[MEASURED_ROUNDS / 2];
+    log.info(
+        "{}: median {} ms, min {} ms, max {} ms over {} rounds",
+        name,
+        formatMillis(median),
+        formatMillis(samples[0]),
+        formatMillis(samples[MEASURED_ROUNDS - 1]),
+        MEASURED_ROUNDS);
+    return median;
+  }
+
+  public static double compare(
+      final String name, final LongSupplier baseline, final LongSupplier candidate) {
+    long baselineNanos = measure(name + " (baseline)", baseline);
+    long candidateNanos = measure(name + " (candidate)", candidate);
+    double speedup = candidateNanos > 0 ? baselineNanos / (double) candidateNanos : 0.0;
+    log.info(
+        "{}: candidate is {}x the speed of the baseline", name, String.format("%.2f", speedup));
+    return speedup;
+  }
+
+  private static String formatMillis(final long nanos) {
+    return String.format("%.3f", nanos / 1_000_000.0);
+  }
+}
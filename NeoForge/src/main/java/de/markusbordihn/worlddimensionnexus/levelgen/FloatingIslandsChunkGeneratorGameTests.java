@@ -0,0 +1,398 @@
+/*
+ * Copyright 2025 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.worlddimensionnexus.levelgen;
+
+import de.markusbordihn.worlddimensionnexus.Constants;
+import de.markusbordihn.worlddimensionnexus.config.FloatingIslandsChunkGeneratorConfig;
+import de.markusbordihn.worlddimensionnexus.gametest.TimingHarness;
+import de.markusbordihn.worlddimensionnexus.levelgen.FloatingIslandsChunkGenerator.IslandColumns;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import net.minecraft.core.Registry;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.biome.Biome;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.ChunkGenerator;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.chunk.ProtoChunk;
+import net.minecraft.world.level.chunk.UpgradeData;
+import net.minecraft.world.level.levelgen.Heightmap;
+import net.minecraft.world.level.levelgen.RandomState;
+import net.minecraft.world.level.levelgen.blending.Blender;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
+
+@GameTestHolder(Constants.MOD_ID)
+@PrefixGameTestTemplate(false)
+public class FloatingIslandsChunkGeneratorGameTests {
+
+  private static final int CHUNK_RADIUS = 8;
+  private static final int WORKER_THREADS = 4;
+
+  private FloatingIslandsChunkGeneratorGameTests() {}
+
+  @GameTest(template = "empty")
+  public static void chunkGenerationIsIndependentOfOrderAndThreads(final GameTestHelper helper) {
+    ServerLevel serverLevel = helper.getLevel();
+    List<ChunkPos> chunkPositions = new ArrayList<>();
+    for (int chunkX = -CHUNK_RADIUS; chunkX < CHUNK_RADIUS; chunkX++) {
+      for (int chunkZ = -CHUNK_RADIUS; chunkZ < CHUNK_RADIUS; chunkZ++) {
+        chunkPositions.add(new ChunkPos(chunkX, chunkZ));
+      }
+    }
+
+    // The same chunks are generated in order on this thread, and in reverse order on a worker
+    // pool sharing one generator, each run with a fresh generator instance.
+    Map<ChunkPos, ProtoChunk> sequentialChunks =
+        generateChunks(serverLevel, chunkPositions, Runnable::run);
+    List<ChunkPos> reversedChunkPositions = new ArrayList<>(chunkPositions);
+    Collections.reverse(reversedChunkPositions);
+    Map<ChunkPos, ProtoChunk> parallelChunks;
+    ExecutorService executor = Executors.newFixedThreadPool(WORKER_THREADS);
+    try {
+      parallelChunks = generateChunks(serverLevel, reversedChunkPositions, executor);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    long islandBlocks = 0;
+    for (ChunkPos chunkPos : chunkPositions) {
+      islandBlocks +=
+          compareChunks(helper, sequentialChunks.get(chunkPos), parallelChunks.get(chunkPos));
+    }
+    helper.assertTrue(islandBlocks > 0, "No floating islands were generated in the test area");
+    helper.succeed();
+  }
+
+  @GameTest(template = "empty")
+  public static void islandColumnsMatchPerColumnReference(final GameTestHelper helper) {
+    int noiseGridSize = FloatingIslandsChunkGeneratorConfig.NOISE_GRID_SIZE;
+    try {
+      FloatingIslandsChunkGeneratorConfig.NOISE_GRID_SIZE = 1;
+      LegacyIslandColumns legacyColumns = new LegacyIslandColumns();
+      FloatingIslandsChunkGenerator chunkGenerator = createChunkGenerator(helper.getLevel());
+
+      // Chunks around the origin and far out, where the coordinates are large and negative.
+      for (ChunkPos centerChunk : List.of(new ChunkPos(0, 0), new ChunkPos(1875, -3125))) {
+        for (int chunkX = -CHUNK_RADIUS; chunkX < CHUNK_RADIUS; chunkX++) {
+          for (int chunkZ = -CHUNK_RADIUS; chunkZ < CHUNK_RADIUS; chunkZ++) {
+            compareIslandColumns(
+                helper,
+                legacyColumns,
+                chunkGenerator,
+                centerChunk.x + chunkX,
+                centerChunk.z + chunkZ);
+          }
+        }
+      }
+    } finally {
+      FloatingIslandsChunkGeneratorConfig.NOISE_GRID_SIZE = noiseGridSize;
+    }
+    helper.succeed();
+  }
+
+  @GameTest(template = "empty")
+  public static void uncachedBaseHeightMatchesIslandColumns(final GameTestHelper helper) {
+    int noiseGridSize = FloatingIslandsChunkGeneratorConfig.NOISE_GRID_SIZE;
+    boolean heightCaching = FloatingIslandsChunkGeneratorConfig.ENABLE_HEIGHT_CACHING;
+    try {
+      FloatingIslandsChunkGeneratorConfig.ENABLE_HEIGHT_CACHING = false;
+      ServerLevel serverLevel = helper.getLevel();
+      RandomState randomState = serverLevel.getChunkSource().randomState();
+      FloatingIslandsChunkGenerator chunkGenerator = createChunkGenerator(serverLevel);
+
+      // Single-column queries have to match the interpolated per-chunk columns.
+      for (int gridSize : List.of(1, 4)) {
+        FloatingIslandsChunkGeneratorConfig.NOISE_GRID_SIZE = gridSize;
+        for (ChunkPos centerChunk : List.of(new ChunkPos(0, 0), new ChunkPos(1875, -3125))) {
+          for (int chunkX = -CHUNK_RADIUS; chunkX < CHUNK_RADIUS; chunkX++) {
+            for (int chunkZ = -CHUNK_RADIUS; chunkZ < CHUNK_RADIUS; chunkZ++) {
+              compareBaseHeights(
+                  helper,
+                  chunkGenerator,
+                  serverLevel,
+                  randomState,
+                  centerChunk.x + chunkX,
+                  centerChunk.z + chunkZ);
+            }
+          }
+        }
+      }
+    } finally {
+      FloatingIslandsChunkGeneratorConfig.NOISE_GRID_SIZE = noiseGridSize;
+      FloatingIslandsChunkGeneratorConfig.ENABLE_HEIGHT_CACHING = heightCaching;
+    }
+    helper.succeed();
+  }
+
+  @GameTest(template = "empty", batch = "benchmark")
+  public static void islandColumnTiming(final GameTestHelper helper) {
+    int noiseGridSize = FloatingIslandsChunkGeneratorConfig.NOISE_GRID_SIZE;
+    boolean heightCaching = FloatingIslandsChunkGeneratorConfig.ENABLE_HEIGHT_CACHING;
+    try {
+      LegacyIslandColumns legacyColumns = new LegacyIslandColumns();
+      FloatingIslandsChunkGenerator chunkGenerator = createChunkGenerator(helper.getLevel());
+
+      // Per-column formulas against the shared per-chunk terms, with identical results.
+      FloatingIslandsChunkGeneratorConfig.NOISE_GRID_SIZE = 1;
+      TimingHarness.compare(
+          "Island columns, grid size 1",
+          () -> computeLegacyColumns(legacyColumns),
+          () -> computeIslandColumns(chunkGenerator));
+
+      FloatingIslandsChunkGeneratorConfig.NOISE_GRID_SIZE = 4;
+      TimingHarness.compare(
+          "Island columns, grid size 4",
+          () -> computeLegacyColumns(legacyColumns),
+          () -> computeIslandColumns(chunkGenerator));
+
+      // Height queries for every column of the area, with and without the shared column cache.
+      FloatingIslandsChunkGeneratorConfig.NOISE_GRID_SIZE = 1;
+      FloatingIslandsChunkGeneratorConfig.ENABLE_HEIGHT_CACHING = true;
+      ServerLevel serverLevel = helper.getLevel();
+      RandomState randomState = serverLevel.getChunkSource().randomState();
+      TimingHarness.compare(
+          "Base height queries with column cache",
+          () -> queryLegacyBaseHeights(legacyColumns, serverLevel),
+          () -> queryBaseHeights(chunkGenerator, serverLevel, randomState));
+
+      FloatingIslandsChunkGeneratorConfig.ENABLE_HEIGHT_CACHING = false;
+      TimingHarness.compare(
+          "Base height queries without column cache",
+          () -> queryLegacyBaseHeights(legacyColumns, serverLevel),
+          () -> queryBaseHeights(chunkGenerator, serverLevel, randomState));
+    } finally {
+      FloatingIslandsChunkGeneratorConfig.NOISE_GRID_SIZE = noiseGridSize;
+      FloatingIslandsChunkGeneratorConfig.ENABLE_HEIGHT_CACHING = heightCaching;
+    }
+    helper.succeed();
+  }
+
+  private static void compareIslandColumns(
+      final GameTestHelper helper,
+      final LegacyIslandColumns legacyColumns,
+      final FloatingIslandsChunkGenerator chunkGenerator,
+      final int chunkX,
+      final int chunkZ) {
+    IslandColumns islandColumns = chunkGenerator.computeIslandColumns(chunkX, chunkZ);
+    for (int localZ = 0; localZ < 16; localZ++) {
+      for (int localX = 0; localX < 16; localX++) {
+        int x = (chunkX << 4) + localX;
+        int z = (chunkZ << 4) + localZ;
+        int index = (localZ << 4) | localX;
+        boolean isIsland = legacyColumns.isIsland(x, z);
+        if (islandColumns.isIsland[index] != isIsland) {
+          helper.fail(String.format("Island column at %d %d differs", x, z));
+        }
+        if (isIsland
+            && (islandColumns.centerHeight[index] != legacyColumns.getIslandHeightAt(x, z)
+                || islandColumns.thickness[index] != legacyColumns.getIslandThicknessAt(x, z)
+                || islandColumns.topY[index] != legacyColumns.getIslandTopAt(x, z))) {
+          helper.fail(
+              String.format(
+                  "Island column at %d %d differs: height %d, thickness %d, top %d",
+                  x,
+                  z,
+                  islandColumns.centerHeight[index],
+                  islandColumns.thickness[index],
+                  islandColumns.topY[index]));
+        }
+      }
+    }
+  }
+
+  private static void compareBaseHeights(
+      final GameTestHelper helper,
+      final FloatingIslandsChunkGenerator chunkGenerator,
+      final ServerLevel serverLevel,
+      final RandomState randomState,
+      final int chunkX,
+      final int chunkZ) {
+    IslandColumns islandColumns = chunkGenerator.computeIslandColumns(chunkX, chunkZ);
+    for (int localZ = 0; localZ < 16; localZ++) {
+      for (int localX = 0; localX < 16; localX++) {
+        int x = (chunkX << 4) + localX;
+        int z = (chunkZ << 4) + localZ;
+        int index = (localZ << 4) | localX;
+        int expectedHeight =
+            islandColumns.isIsland[index]
+                ? islandColumns.centerHeight[index]
+                : serverLevel.getMinBuildHeight();
+        int baseHeight =
+            chunkGenerator.getBaseHeight(
+                x, z, Heightmap.Types.WORLD_SURFACE_WG, serverLevel, randomState);
+        if (baseHeight != expectedHeight) {
+          helper.fail(
+              String.format(
+                  "Base height at %d %d is %d instead of %d", x, z, baseHeight, expectedHeight));
+        }
+      }
+    }
+  }
+
+  private static Map<ChunkPos, ProtoChunk> generateChunks(
+      final ServerLevel serverLevel, final List<ChunkPos> chunkPositions, final Executor executor) {
+    ChunkGenerator chunkGenerator =
+        ChunkGeneratorHelper.getFloatingIslandsChunkGenerator(serverLevel.getServer());
+    RandomState randomState = serverLevel.getChunkSource().randomState();
+    Registry<Biome> biomeRegistry = serverLevel.registryAccess().registryOrThrow(Registries.BIOME);
+    Map<ChunkPos, ProtoChunk> chunks = new ConcurrentHashMap<>();
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (ChunkPos chunkPos : chunkPositions) {
+      futures.add(
+          CompletableFuture.runAsync(
+              () -> {
+                ProtoChunk chunk =
+                    new ProtoChunk(chunkPos, UpgradeData.EMPTY, serverLevel, biomeRegistry, null);
+                chunkGenerator
+                    .fillFromNoise(
+                        Blender.empty(), randomState, serverLevel.structureManager(), chunk)
+                    .join();
+                chunks.put(chunkPos, chunk);
+              },
+              executor));
+    }
+    CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+    return chunks;
+  }
+
+  private static long compareChunks(
+      final GameTestHelper helper, final ProtoChunk expectedChunk, final ProtoChunk chunk) {
+    long islandBlocks = 0;
+    for (int sectionIndex = 0; sectionIndex < chunk.getSectionsCount(); sectionIndex++) {
+      LevelChunkSection expectedSection = expectedChunk.getSection(sectionIndex);
+      LevelChunkSection section = chunk.getSection(sectionIndex);
+      for (int y = 0; y < 16; y++) {
+        for (int z = 0; z < 16; z++) {
+          for (int x = 0; x < 16; x++) {
+            BlockState blockState = section.getBlockState(x, y, z);
+            if (blockState != expectedSection.getBlockState(x, y, z)) {
+              helper.fail(
+                  String.format(
+                      "Block %s at %d %d %d of section %d in chunk %s differs",
+                      blockState, x, y, z, sectionIndex, chunk.getPos()));
+            }
+            if (!blockState.isAir()) {
+              islandBlocks++;
+            }
+          }
+        }
+      }
+    }
+
+    for (Heightmap.Types type :
+        List.of(Heightmap.Types.OCEAN_FLOOR_WG, Heightmap.Types.WORLD_SURFACE_WG)) {
+      Heightmap expectedHeightmap = expectedChunk.getOrCreateHeightmapUnprimed(type);
+      Heightmap heightmap = chunk.getOrCreateHeightmapUnprimed(type);
+      for (int z = 0; z < 16; z++) {
+        for (int x = 0; x < 16; x++) {
+          if (heightmap.getFirstAvailable(x, z) != expectedHeightmap.getFirstAvailable(x, z)) {
+            helper.fail(
+                String.format(
+                    "Heightmap %s at %d %d in chunk %s differs", type, x, z, chunk.getPos()));
+          }
+        }
+      }
+    }
+    return islandBlocks;
+  }
+
+  static FloatingIslandsChunkGenerator createChunkGenerator(final ServerLevel serverLevel) {
+    return new FloatingIslandsChunkGenerator(
+        serverLevel.registryAccess().lookupOrThrow(Registries.BIOME));
+  }
+
+  private static long computeLegacyColumns(final LegacyIslandColumns legacyColumns) {
+    long checksum = 0;
+    for (int chunkX = -CHUNK_RADIUS; chunkX < CHUNK_RADIUS; chunkX++) {
+      for (int chunkZ = -CHUNK_RADIUS; chunkZ < CHUNK_RADIUS; chunkZ++) {
+        for (int localZ = 0; localZ < 16; localZ++) {
+          for (int localX = 0; localX < 16; localX++) {
+            int x = (chunkX << 4) + localX;
+            int z = (chunkZ << 4) + localZ;
+            if (legacyColumns.isIsland(x, z)) {
+              checksum += legacyColumns.getIslandTopAt(x, z);
+              checksum += legacyColumns.getIslandThicknessAt(x, z);
+            }
+          }
+        }
+      }
+    }
+    return checksum;
+  }
+
+  private static long computeIslandColumns(final FloatingIslandsChunkGenerator chunkGenerator) {
+    long checksum = 0;
+    for (int chunkX = -CHUNK_RADIUS; chunkX < CHUNK_RADIUS; chunkX++) {
+      for (int chunkZ = -CHUNK_RADIUS; chunkZ < CHUNK_RADIUS; chunkZ++) {
+        IslandColumns islandColumns = chunkGenerator.computeIslandColumns(chunkX, chunkZ);
+        for (int index = 0; index < 256; index++) {
+          if (islandColumns.isIsland[index]) {
+            checksum += islandColumns.topY[index];
+            checksum += islandColumns.thickness[index];
+          }
+        }
+      }
+    }
+    return checksum;
+  }
+
+  private static long queryLegacyBaseHeights(
+      final LegacyIslandColumns legacyColumns, final ServerLevel serverLevel) {
+    long checksum = 0;
+    int blockRadius = CHUNK_RADIUS << 4;
+    for (int x = -blockRadius; x < blockRadius; x++) {
+      for (int z = -blockRadius; z < blockRadius; z++) {
+        checksum +=
+            legacyColumns.isIsland(x, z)
+                ? legacyColumns.getIslandHeightAt(x, z)
+                : serverLevel.getMinBuildHeight();
+      }
+    }
+    return checksum;
+  }
+
+  private static long queryBaseHeights(
+      final FloatingIslandsChunkGenerator chunkGenerator,
+      final ServerLevel serverLevel,
+      final RandomState randomState) {
+    long checksum = 0;
+    int blockRadius = CHUNK_RADIUS << 4;
+    for (int x = -blockRadius; x < blockRadius; x++) {
+      for (int z = -blockRadius; z < blockRadius; z++) {
+        checksum +=
+            chunkGenerator.getBaseHeight(
+                x, z, Heightmap.Types.WORLD_SURFACE_WG, serverLevel, randomState);
+      }
+    }
+    return checksum;
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2025 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.worlddimensionnexus.levelgen;
+
+import de.markusbordihn.worlddimensionnexus.config.FloatingIslandsChunkGeneratorConfig;
+import java.util.List;
+import net.minecraft.util.Mth;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.levelgen.synth.PerlinSimplexNoise;
+
+// Per-column island terrain as computed before the noise grid and the per-chunk terms were added.
+final class LegacyIslandColumns {
+
+  private final PerlinSimplexNoise islandNoise;
+  private final PerlinSimplexNoise heightNoise;
+  private final PerlinSimplexNoise detailNoise;
+
+  LegacyIslandColumns() {
+    this.islandNoise =
+        new PerlinSimplexNoise(
+            RandomSource.create(FloatingIslandsChunkGeneratorConfig.ISLAND_NOISE_SEED),
+            List.of(-4, -3, -2, -1, 0));
+    this.heightNoise =
+        new PerlinSimplexNoise(
+            RandomSource.create(FloatingIslandsChunkGeneratorConfig.HEIGHT_NOISE_SEED),
+            List.of(-2, -1, 0, 1));
+    this.detailNoise =
+        new PerlinSimplexNoise(
+            RandomSource.create(FloatingIslandsChunkGeneratorConfig.DETAIL_NOISE_SEED),
+            List.of(-1, 0, 1, 2));
+  }
+
+  boolean isIsland(final int x, final int z) {
+    return getIslandDensityAt(x, z) > FloatingIslandsChunkGeneratorConfig.ISLAND_DENSITY;
+  }
+
+  double getIslandDensityAt(final int x, final int z) {
+    double noiseScale = FloatingIslandsChunkGeneratorConfig.NOISE_SCALE;
+
+    double density = 0.0;
+    density += islandNoise.getValue(x * noiseScale, z * noiseScale, false) * 0.5;
+    density += islandNoise.getValue(x * noiseScale * 2, z * noiseScale * 2, false) * 0.3;
+    density += islandNoise.getValue(x * noiseScale * 4, z * noiseScale * 4, false) * 0.2;
+
+    int islandSpacing = FloatingIslandsChunkGeneratorConfig.ISLAND_SPACING;
+    double clusterNoise =
+        Math.sin(x * Math.PI / islandSpacing) * Math.sin(z * Math.PI / islandSpacing);
+    density += clusterNoise * 0.4;
+
+    return Mth.clamp(density, -1.0, 1.0);
+  }
+
+  int getIslandHeightAt(final int x, final int z) {
+    double noiseScale = FloatingIslandsChunkGeneratorConfig.NOISE_SCALE;
+    double heightVariation =
+        this.heightNoise.getValue(x * noiseScale * 0.5, z * noiseScale * 0.5, false);
+
+    int minHeight = FloatingIslandsChunkGeneratorConfig.MIN_ISLAND_HEIGHT;
+    int maxHeight = FloatingIslandsChunkGeneratorConfig.MAX_ISLAND_HEIGHT;
+
+    int height = (int) (minHeight + (heightVariation + 1.0) * 0.5 * (maxHeight - minHeight));
+    return Mth.clamp(height, minHeight, maxHeight);
+  }
+
+  int getIslandThicknessAt(final int x, final int z) {
+    int islandSpacing = FloatingIslandsChunkGeneratorConfig.ISLAND_SPACING;
+    double radiusMultiplier = FloatingIslandsChunkGeneratorConfig.ISLAND_RADIUS_MULTIPLIER;
+
+    double distance =
+        Math.sqrt(
+            (x % islandSpacing - islandSpacing / 2.0) * (x % islandSpacing - islandSpacing / 2.0)
+                + (z % islandSpacing - islandSpacing / 2.0)
+                    * (z % islandSpacing - islandSpacing / 2.0));
+
+    double maxRadius = islandSpacing * radiusMultiplier;
+    double thickness =
+        Math.max(
+            0,
+            (maxRadius - distance)
+                / maxRadius
+                * FloatingIslandsChunkGeneratorConfig.DEFAULT_ISLAND_THICKNESS);
+
+    return (int) Math.max(FloatingIslandsChunkGeneratorConfig.MIN_ISLAND_THICKNESS, thickness);
+  }
+
+  int getIslandTopAt(final int x, final int z) {
+    double noiseScale = FloatingIslandsChunkGeneratorConfig.NOISE_SCALE;
+    double surfaceVariation =
+        this.detailNoise.getValue(x * noiseScale * 8, z * noiseScale * 8, false);
+    int heightVariation =
+        (int) (surfaceVariation * FloatingIslandsChunkGeneratorConfig.HEIGHT_VARIATION_RANGE);
+    return getIslandHeightAt(x, z) + heightVariation;
+  }
+}
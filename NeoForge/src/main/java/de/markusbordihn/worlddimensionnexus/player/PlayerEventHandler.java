@@ -29,6 +29,11 @@ import net.neoforged.neoforge.event.tick.PlayerTickEvent;
 @EventBusSubscriber
 public class PlayerEventHandler {
 
+  @SubscribeEvent
+  public static void onPlayerLoadFromFile(final PlayerEvent.LoadFromFile event) {
+    PlayerEvents.handlePlayerLoadFromFileEvent(event.getPlayerFile("dat"));
+  }
+
   @SubscribeEvent
   public static void onPlayerLogin(final PlayerEvent.PlayerLoggedInEvent event) {
     if (event.getEntity() instanceof ServerPlayer serverPlayer) {
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2025 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.worlddimensionnexus.saveddata;
+
+import de.markusbordihn.worlddimensionnexus.Constants;
+import de.markusbordihn.worlddimensionnexus.data.portal.PortalInfoData;
+import de.markusbordihn.worlddimensionnexus.data.portal.PortalType;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import net.minecraft.core.BlockPos;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.item.DyeColor;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Blocks;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
+
+@GameTestHolder(Constants.MOD_ID)
+@PrefixGameTestTemplate(false)
+public class PortalDataStorageGameTests {
+
+  private PortalDataStorageGameTests() {}
+
+  @GameTest(template = "empty")
+  public static void replayingJournalTwiceKeepsPortalsUnique(final GameTestHelper helper)
+      throws IOException {
+    Path journalFile = Files.createTempDirectory("portal_journal").resolve("portals.journal");
+    PortalInfoData firstPortal = createPortal(Level.OVERWORLD, new BlockPos(0, 64, 0));
+    PortalInfoData secondPortal = createPortal(Level.NETHER, new BlockPos(8, 64, 8));
+    PortalInfoData movedPortal = copyPortal(firstPortal, Level.END);
+
+    // Record the changes in the journal only, the dimension shards are never written.
+    PortalDataStorage journalWriter = new PortalDataStorage(new ArrayList<>(), new ArrayList<>());
+    journalWriter.openJournal(journalFile);
+    journalWriter.addPortal(firstPortal);
+    journalWriter.addPortal(secondPortal);
+    journalWriter.addPortal(movedPortal);
+    journalWriter.closeJournal();
+    AsyncSavedData.awaitPendingWrites();
+
+    // The first portal is already part of a shard, like after a failed shard write.
+    PortalDataStorage firstReplay =
+        new PortalDataStorage(new ArrayList<>(List.of(firstPortal)), new ArrayList<>());
+    firstReplay.openJournal(journalFile);
+    firstReplay.closeJournal();
+    PortalDataStorage secondReplay =
+        new PortalDataStorage(firstReplay.getPortals(), firstReplay.getTargets());
+    secondReplay.openJournal(journalFile);
+    secondReplay.closeJournal();
+
+    Set<PortalInfoData> expectedPortals = Set.of(movedPortal, secondPortal);
+    assertPortals(helper, expectedPortals, firstReplay.getPortals(), "first replay");
+    assertPortals(helper, expectedPortals, secondReplay.getPortals(), "second replay");
+    helper.succeed();
+  }
+
+  private static void assertPortals(
+      final GameTestHelper helper,
+      final Set<PortalInfoData> expectedPortals,
+      final List<PortalInfoData> portals,
+      final String description) {
+    helper.assertTrue(
+        portals.size() == expectedPortals.size() && expectedPortals.equals(new HashSet<>(portals)),
+        "Unexpected portals after " + description + ": " + portals);
+  }
+
+  private static PortalInfoData createPortal(
+      final ResourceKey<Level> dimension, final BlockPos origin) {
+    return new PortalInfoData(
+        UUID.randomUUID(),
+        dimension,
+        origin,
+        Set.of(origin.below(), origin.above(2)),
+        Set.of(origin, origin.above()),
+        Set.of(origin.below().east(), origin.above(2).east()),
+        UUID.randomUUID(),
+        DyeColor.LIME,
+        Blocks.DIAMOND_BLOCK,
+        1L,
+        PortalType.PLAYER,
+        "test");
+  }
+
+  private static PortalInfoData copyPortal(
+      final PortalInfoData portal, final ResourceKey<Level> dimension) {
+    return new PortalInfoData(
+        portal.uuid(),
+        dimension,
+        portal.origin(),
+        portal.frameBlocks(),
+        portal.innerBlocks(),
+        portal.cornerBlocks(),
+        portal.creator(),
+        portal.color(),
+        portal.edgeBlockType(),
+        portal.lastUsed(),
+        portal.portalType(),
+        portal.name());
+  }
+}
@@ -24,6 +24,7 @@ import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.common.EventBusSubscriber;
 import net.neoforged.neoforge.event.server.ServerStartedEvent;
 import net.neoforged.neoforge.event.server.ServerStartingEvent;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
 import net.neoforged.neoforge.event.server.ServerStoppingEvent;
 import net.neoforged.neoforge.event.tick.ServerTickEvent;
 
@@ -53,6 +54,13 @@ public class ServerEventHandler {
     }
   }
 
+  @SubscribeEvent
+  public static void onServerStopped(ServerStoppedEvent event) {
+    if (event.getServer() instanceof MinecraftServer minecraftServer) {
+      ServerEvents.handleServerStoppedEvent(minecraftServer);
+    }
+  }
+
   @SubscribeEvent
   public static void onServerTickPre(ServerTickEvent.Pre event) {
     if (event.getServer() instanceof MinecraftServer minecraftServer) {